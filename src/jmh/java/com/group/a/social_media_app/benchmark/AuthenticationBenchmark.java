@@ -0,0 +1,76 @@
+package com.group.a.social_media_app.benchmark;
+
+import com.group.a.social_media_app.dto.UserRegistrationDTO;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.service.CustomUserDetailsService;
+import com.group.a.social_media_app.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration (dominated by the BCrypt encode) and the user lookup behind every login,
+ * through the real Spring beans on H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    private static final String EXISTING_EMAIL = "existing@example.com";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private CustomUserDetailsService userDetailsService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        userService.registerUser(registration(EXISTING_EMAIL));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User registerUser() {
+        return userService.registerUser(registration("user" + sequence.incrementAndGet() + "@example.com"));
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(EXISTING_EMAIL);
+    }
+
+    private static UserRegistrationDTO registration(String email) {
+        return UserRegistrationDTO.builder()
+                .email(email)
+                .password("benchmark-password")
+                .confirmPassword("benchmark-password")
+                .firstName("Bench")
+                .lastName("User")
+                .build();
+    }
+}
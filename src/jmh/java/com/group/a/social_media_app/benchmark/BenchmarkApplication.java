@@ -0,0 +1,93 @@
+package com.group.a.social_media_app.benchmark;
+
+import com.group.a.social_media_app.SocialMediaAppApplication;
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the real application against an in-memory H2 database so benchmarks run offline,
+ * and builds detached sample data for the benchmarks that need no database at all.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:social_app_bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.sql.init.platform", "h2");
+        properties.put("spring.thymeleaf.cache", "true");
+        properties.put("app.search.mode", "memory");
+        properties.put("app.timeline.rebuild-on-startup", "false");
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        // Passed as command-line arguments so they outrank application.properties
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(SocialMediaAppApplication.class).run(args);
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(Map.of());
+    }
+
+    static User sampleUser(long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .password("{noop}secret1")
+                .firstName("Bench")
+                .lastName("User" + id)
+                .build();
+    }
+
+    /**
+     * Posts spread over the last few days, so every relative-time bucket gets exercised.
+     */
+    static List<Post> samplePosts(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(Post.builder()
+                    .id((long) i + 1)
+                    .content("Benchmark post number " + i + " with a little text to render.")
+                    .createdAt(now.minusMinutes(i * 7L))
+                    .updatedAt(now.minusMinutes(i * 7L))
+                    .user(sampleUser(i % 10 + 1))
+                    .build());
+        }
+        return posts;
+    }
+
+    static List<PostDTO> sampleDTOs(int count) {
+        return samplePosts(count).stream()
+                .map(post -> PostDTO.builder()
+                        .id(post.getId())
+                        .content(post.getContent())
+                        .authorName(post.getUser().getFullName())
+                        .createdAt(post.getCreatedAt())
+                        .timeAgo(post.getTimeAgo())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.group.a.social_media_app.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sleeps before every statement to stand in for the network round trip to PostgreSQL, which
+ * in-memory H2 does not have. Without it request threads never block and the thread model
+ * under test makes no difference.
+ */
+public class DatabaseLatencyInspector implements StatementInspector {
+
+    static volatile long latencyMicros;
+
+    @Override
+    public String inspect(String sql) {
+        long micros = latencyMicros;
+        if (micros > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(micros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,77 @@
+package com.group.a.social_media_app.benchmark;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.dto.UserSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thymeleaf rendering of {@code feed.html} through the application's own view resolver,
+ * with template caching on as in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedRenderingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int posts;
+
+    private ConfigurableApplicationContext context;
+    private View view;
+    private Map<String, Object> model;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        view = context.getBean(ThymeleafViewResolver.class).resolveViewName("feed", Locale.US);
+
+        List<PostDTO> sample = BenchmarkApplication.sampleDTOs(posts);
+        model = new HashMap<>();
+        model.put("currentUser", UserSnapshot.of(BenchmarkApplication.sampleUser(1)));
+        model.put("posts", sample);
+        model.put("nextCursor", "bmV4dA");
+        model.put("postCount", (long) sample.size());
+        model.put("newPost", new PostDTO());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String renderFeed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/home");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, (WebApplicationContext) context);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response.getContentAsString();
+    }
+}
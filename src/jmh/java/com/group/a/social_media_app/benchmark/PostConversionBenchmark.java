@@ -0,0 +1,55 @@
+package com.group.a.social_media_app.benchmark;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PostService#convertToDTOs} and {@link Post#getTimeAgo()} over detached posts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostConversionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int posts;
+
+    private List<Post> sample;
+    private PostService postService;
+
+    @Setup
+    public void setUp() {
+        sample = BenchmarkApplication.samplePosts(posts);
+        // convertToDTOs touches none of the service's collaborators
+        postService = PostService.builder().build();
+    }
+
+    @Benchmark
+    public List<PostDTO> convertToDTOs() {
+        return postService.convertToDTOs(sample);
+    }
+
+    @Benchmark
+    public void timeAgo(Blackhole blackhole) {
+        for (Post post : sample) blackhole.consume(post.getTimeAgo());
+    }
+}
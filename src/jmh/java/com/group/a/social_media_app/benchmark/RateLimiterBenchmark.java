@@ -0,0 +1,52 @@
+package com.group.a.social_media_app.benchmark;
+
+import com.group.a.social_media_app.ratelimit.RateLimitProperties;
+import com.group.a.social_media_app.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One allowed rate-limit check per call, spread over many users so that new keys keep
+ * taking over idle buckets. Run with {@code -prof gc} to confirm it does not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int USERS = 1 << 20;
+
+    private RateLimiter rateLimiter;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(1_000_000);
+        limit.setPeriod(Duration.ofSeconds(1));
+        limit.setMaxKeys(USERS / 4);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getLimits().put(RateLimiter.POST_CREATE, limit);
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void acquire() {
+        rateLimiter.acquire(RateLimiter.POST_CREATE, ++sequence & (USERS - 1));
+    }
+}
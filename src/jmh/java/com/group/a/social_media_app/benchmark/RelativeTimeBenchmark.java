@@ -0,0 +1,68 @@
+package com.group.a.social_media_app.benchmark;
+
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.util.RelativeTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Labelling a page of posts: the old per-post clock read and concatenation against one
+ * shared {@link RelativeTime} snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RelativeTimeBenchmark {
+
+    @Param({"20", "1000"})
+    public int posts;
+
+    private List<LocalDateTime> createdAt;
+
+    @Setup
+    public void setUp() {
+        createdAt = BenchmarkApplication.samplePosts(posts).stream().map(Post::getCreatedAt).toList();
+    }
+
+    @Benchmark
+    public void perPostClock(Blackhole blackhole) {
+        for (LocalDateTime time : createdAt) blackhole.consume(legacyTimeAgo(time));
+    }
+
+    @Benchmark
+    public void sharedSnapshot(Blackhole blackhole) {
+        RelativeTime now = RelativeTime.now();
+        for (LocalDateTime time : createdAt) blackhole.consume(now.format(time));
+    }
+
+    // The implementation Post.timeAgo had before RelativeTime, kept as the baseline
+    private static String legacyTimeAgo(LocalDateTime createdAt) {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) return "";
+        long minutes = Duration.between(createdAt, now).toMinutes();
+        if (minutes < 1) return "Just now";
+        if (minutes < 60) return minutes + " minute(s) ago";
+        long hours = minutes / 60;
+        if (hours < 24) return hours + " hour(s) ago";
+        long days = hours / 24;
+        return days + " day(s) ago";
+    }
+}
@@ -0,0 +1,146 @@
+package com.group.a.social_media_app.benchmark;
+
+import com.group.a.social_media_app.dto.UserRegistrationDTO;
+import com.group.a.social_media_app.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load comparison of platform-thread and virtual-thread request execution: a burst of
+ * concurrent authenticated {@code /home} requests over real HTTP, with simulated database
+ * latency on every statement. Platform mode is capped by Tomcat's worker pool; virtual mode
+ * only by the connection pool, which is sized the same in both runs.
+ *
+ * <p>On a single-CPU host the two modes are indistinguishable at 200 and 1000 concurrent
+ * requests and 5 or 50 ms per statement: rendering saturates the core before Tomcat's 50
+ * workers become the limit. Virtual threads stay off by default until a multi-core run
+ * shows a gain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestConcurrencyBenchmark {
+
+    private static final String EMAIL = "load@example.com";
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "1000"})
+    public int concurrency;
+
+    @Param({"5000"})
+    public long dbLatencyMicros;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private URL home;
+    private String sessionCookie;
+
+    @Setup
+    public void setUp() throws Exception {
+        DatabaseLatencyInspector.latencyMicros = 0;
+        // Read once by the JDK; without it only five keep-alive connections per host are reused
+        System.setProperty("http.maxConnections", String.valueOf(concurrency));
+        context = BenchmarkApplication.start(Map.of(
+                "spring.threads.virtual.enabled", "virtual".equals(threads),
+                "server.tomcat.threads.max", 50,
+                "server.tomcat.accept-count", 2000,
+                "server.tomcat.max-connections", 4000,
+                "server.tomcat.max-keep-alive-requests", -1,
+                "spring.datasource.hikari.maximum-pool-size", 100,
+                "spring.datasource.hikari.connection-timeout", 60000,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                DatabaseLatencyInspector.class.getName()));
+        context.getBean(UserService.class).registerUser(UserRegistrationDTO.builder()
+                .email(EMAIL)
+                .password(PASSWORD)
+                .confirmPassword(PASSWORD)
+                .firstName("Load")
+                .lastName("Test")
+                .build());
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        home = URI.create("http://localhost:" + port + "/home").toURL();
+        sessionCookie = login(URI.create("http://localhost:" + port + "/login").toURL());
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        DatabaseLatencyInspector.latencyMicros = dbLatencyMicros;
+    }
+
+    @TearDown
+    public void tearDown() {
+        DatabaseLatencyInspector.latencyMicros = 0;
+        clients.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(clients.submit(this::getHome));
+        }
+        for (Future<Integer> response : responses) {
+            int status = response.get();
+            if (status != 200) throw new IllegalStateException("GET /home returned " + status);
+        }
+        return responses.size();
+    }
+
+    private int getHome() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) home.openConnection();
+        connection.setRequestProperty("Cookie", sessionCookie);
+        connection.setInstanceFollowRedirects(false);
+        try (InputStream body = connection.getInputStream()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        return connection.getResponseCode();
+    }
+
+    private static String login(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setInstanceFollowRedirects(false);
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        try (OutputStream body = connection.getOutputStream()) {
+            body.write(("username=" + EMAIL + "&password=" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        }
+        String location = connection.getHeaderField("Location");
+        if (location == null || !location.endsWith("/home")) {
+            throw new IllegalStateException("Login failed, redirected to " + location);
+        }
+        return connection.getHeaderField("Set-Cookie").split(";", 2)[0];
+    }
+}
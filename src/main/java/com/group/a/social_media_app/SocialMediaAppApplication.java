@@ -2,8 +2,10 @@ package com.group.a.social_media_app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SocialMediaAppApplication {
 
 	public static void main(String[] args) {
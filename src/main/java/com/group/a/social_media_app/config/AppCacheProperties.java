@@ -0,0 +1,18 @@
+package com.group.a.social_media_app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    // Caffeine spec for caches without an entry in specs
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=5m";
+
+    // Caffeine spec per cache name, e.g. maximumSize=10000,expireAfterWrite=10m
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
@@ -0,0 +1,55 @@
+package com.group.a.social_media_app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Bounded local caches for rows that are read on every page view and rarely change.
+ * Every cache records statistics, published by Actuator as {@code cache.gets},
+ * {@code cache.evictions} and {@code cache.size} under {@code /actuator/metrics}.
+ *
+ * <p>Loads ({@code @Cacheable(sync = true)}) read from the primary. A write evicts its entry,
+ * and reloading it from a lagging replica would keep the old row cached for the entry's whole
+ * lifetime, long after the read-your-writes window has closed.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String POSTS = "posts";
+    public static final String POST_COUNTS = "post-counts";
+    public static final String USER_DETAILS = "user-details";
+    public static final String REACTION_COUNTS = "reaction-counts";
+
+    @Bean
+    public CacheManager cacheManager(AppCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CaffeineCache(name, cache, isAllowNullValues()) {
+                    @Override
+                    public <T> T get(Object key, Callable<T> valueLoader) {
+                        return super.get(key, () -> {
+                            try (ReadYourWrites.Scope ignored = ReadYourWrites.open(true, null)) {
+                                return valueLoader.call();
+                            }
+                        });
+                    }
+                };
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.from(properties.getDefaultSpec()).recordStats());
+        properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build()));
+        return cacheManager;
+    }
+}
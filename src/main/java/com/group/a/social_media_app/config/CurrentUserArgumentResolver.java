@@ -0,0 +1,33 @@
+package com.group.a.social_media_app.config;
+
+import com.group.a.social_media_app.dto.UserSnapshot;
+import com.group.a.social_media_app.service.CustomUserDetailsService;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UserSnapshot.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public UserSnapshot resolveArgument(MethodParameter parameter,
+                                        ModelAndViewContainer mavContainer,
+                                        NativeWebRequest webRequest,
+                                        WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserPrincipal principal) {
+            return principal.getSnapshot();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.group.a.social_media_app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Turns on the {@code @CreatedDate}/{@code @LastModifiedDate} auditing the entities declare.
+ * Feed pagination keys on {@code created_at}, so it must always be populated.
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaConfig {
+}
@@ -0,0 +1,50 @@
+package com.group.a.social_media_app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing: {@code {bcrypt}}-prefixed hashes at the configured cost, computed on a
+ * bounded executor whose queue depth, active threads and completions are published as
+ * {@code executor.*} metrics tagged {@code name=password-hashing}.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final String BCRYPT = "bcrypt";
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.effectiveConcurrency();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    // Hashes stored before the {bcrypt} prefix was introduced are plain BCrypt; they still
+    // verify, and report upgradeEncoding so they are rewritten at the next successful login
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties,
+                                           ThreadPoolExecutor passwordHashingExecutor,
+                                           MeterRegistry meterRegistry) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT,
+                Map.of(BCRYPT, new BCryptPasswordEncoder(properties.getBcryptStrength())));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return new BoundedPasswordEncoder(encoder, passwordHashingExecutor, properties.getRetryAfter(), meterRegistry);
+    }
+}
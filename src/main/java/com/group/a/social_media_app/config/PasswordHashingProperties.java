@@ -0,0 +1,28 @@
+package com.group.a.social_media_app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+
+    // Hashes computed at once; 0 means half the available processors (at least one), so a
+    // login storm always leaves the other half to page and API requests
+    private int maxConcurrency = 0;
+
+    // Hashes allowed to wait for a thread; beyond this requests are rejected with a 429
+    private int queueCapacity = 64;
+
+    // BCrypt cost for new hashes (each step doubles CPU per hash); weaker hashes are upgraded
+    // at the user's next login
+    private int bcryptStrength = 10;
+
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    public int effectiveConcurrency() {
+        return maxConcurrency > 0 ? maxConcurrency : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,67 @@
+package com.group.a.social_media_app.config;
+
+/**
+ * Per-thread marker that keeps read-only transactions on the primary, so callers see their
+ * own writes despite replica lag. A scope is pinned from the start (recent write in an earlier
+ * request, or {@link #runOnPrimary}) or becomes pinned when a write commits inside it.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Opens a scope for the current thread; {@code onFirstWrite} runs once, after the first
+     * write transaction in the scope commits.
+     */
+    public static Scope open(boolean pinned, Runnable onFirstWrite) {
+        Scope scope = new Scope(CURRENT.get(), pinned, onFirstWrite);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // For work that must never see stale data, such as outbox consumers reacting to a commit
+    public static void runOnPrimary(Runnable task) {
+        try (Scope ignored = open(true, null)) {
+            task.run();
+        }
+    }
+
+    static boolean isPinnedToPrimary() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.pinned;
+    }
+
+    static void recordWrite() {
+        Scope scope = CURRENT.get();
+        if (scope == null || scope.written) return;
+        scope.written = true;
+        scope.pinned = true;
+        if (scope.onFirstWrite != null) scope.onFirstWrite.run();
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope previous;
+        private final Runnable onFirstWrite;
+        private boolean pinned;
+        private boolean written;
+
+        private Scope(Scope previous, boolean pinned, Runnable onFirstWrite) {
+            this.previous = previous;
+            this.pinned = pinned;
+            this.onFirstWrite = onFirstWrite;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
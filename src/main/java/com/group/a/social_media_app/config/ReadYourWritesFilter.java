@@ -0,0 +1,63 @@
+package com.group.a.social_media_app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries the "recently wrote" marker between requests in a short-lived cookie, so it works
+ * the same with HTTP sessions and with stateless tokens. A request that commits a write sets
+ * the cookie; requests arriving while it is valid read from the primary.
+ *
+ * <p>Token clients that keep no cookies never send the marker back, so a read right after
+ * their write may come from a replica that has not caught up: a new post can be missing from
+ * the list for up to the replica lag. Single-post reads are not affected, because cache
+ * loads always use the primary (see {@link CacheConfig}).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "PRIMARY_UNTIL";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.open(recentlyWrote(request), () -> markWrite(request, response))) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private boolean recentlyWrote(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) return false;
+        try {
+            return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Writes commit in the service layer, before the view renders, so the response is still open
+    private void markWrite(HttpServletRequest request, HttpServletResponse response) {
+        if (response.isCommitted()) return;
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        response.addCookie(cookie);
+    }
+}
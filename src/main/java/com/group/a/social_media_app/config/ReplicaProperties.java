@@ -0,0 +1,33 @@
+package com.group.a.social_media_app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+
+    // Off: everything uses spring.datasource.* exactly as before
+    private boolean enabled = false;
+
+    // JDBC URLs of the read replicas; pool settings are copied from spring.datasource.hikari.*
+    private List<String> urls = new ArrayList<>();
+
+    // Default to the primary's credentials when unset
+    private String username;
+    private String password;
+
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+
+    // After a user's write, their reads stay on the primary this long; should exceed replica lag
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+}
@@ -0,0 +1,110 @@
+package com.group.a.social_media_app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. Must sit
+ * behind a {@code LazyConnectionDataSourceProxy}: the transaction's read-only flag is only
+ * set after the transaction manager asks for a connection, so the choice has to wait for the
+ * first statement. Read-write transactions that commit mark the thread's
+ * {@link ReadYourWrites} scope, pinning its later reads to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    // Bound while a read-write transaction has its commit hook registered
+    private static final Object WRITE_MARKER = new Object();
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicaProperties.Strategy strategy;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ReplicaProperties.Strategy strategy, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+        this.primaryConnections = meterRegistry.counter("app.datasource.connections.routed", "target", "primary");
+        this.replicaConnections = meterRegistry.counter("app.datasource.connections.routed", "target", "replica");
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                markWriteOnCommit();
+            } else if (!replicas.isEmpty() && !ReadYourWrites.isPinnedToPrimary()) {
+                replicaConnections.increment();
+                return chooseReplica();
+            }
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private int chooseReplica() {
+        if (strategy == ReplicaProperties.Strategy.LEAST_CONNECTIONS) {
+            int best = 0;
+            int fewest = Integer.MAX_VALUE;
+            for (int i = 0; i < replicas.size(); i++) {
+                HikariPoolMXBean pool = replicas.get(i).getHikariPoolMXBean();
+                int active = pool == null ? 0 : pool.getActiveConnections();
+                if (active < fewest) {
+                    fewest = active;
+                    best = i;
+                }
+            }
+            return best;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    private static void markWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) return;
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReadYourWrites.recordWrite();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+            }
+        });
+    }
+}
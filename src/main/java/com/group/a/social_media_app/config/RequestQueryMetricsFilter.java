@@ -0,0 +1,55 @@
+package com.group.a.social_media_app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, as {@code http.server.requests.queries}
+ * tagged with the matched URI pattern, and logs requests that look like a query storm.
+ */
+@Slf4j
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final long warnThreshold;
+
+    public RequestQueryMetricsFilter(MeterRegistry meterRegistry, long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCountingStatementInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long queries = QueryCountingStatementInspector.current();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("http.server.requests.queries")
+                    .description("SQL statements issued per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(queries);
+
+            if (queries >= warnThreshold) {
+                log.warn("{} {} issued {} SQL statements", request.getMethod(), uri, queries);
+            }
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package com.group.a.social_media_app.config;
 
 
+import com.group.a.social_media_app.ratelimit.LoginRateLimitFilter;
+import com.group.a.social_media_app.ratelimit.RateLimiter;
+import com.group.a.social_media_app.security.TokenAuthenticationFilter;
+import com.group.a.social_media_app.security.TokenCookies;
+import com.group.a.social_media_app.security.TokenLoginSuccessHandler;
+import com.group.a.social_media_app.security.TokenService;
 import com.group.a.social_media_app.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.DelegatingAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.LinkedHashMap;
 
 @Configuration
 @RequiredArgsConstructor
@@ -19,11 +35,7 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    private final RateLimiter rateLimiter;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
@@ -31,13 +43,9 @@ public class SecurityConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "app.security.mode", havingValue = "session", matchIfMissing = true)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        http
-                .csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/", "/login", "/register", "/styles.css", "/script.js", "/images/**").permitAll()
-                        .anyRequest().authenticated()
-                )
+        commonRules(http)
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/home", true)
@@ -54,4 +62,56 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    // Stateless: every request carries a signed token, nothing is kept in an HTTP session
+    @Bean
+    @ConditionalOnProperty(name = "app.security.mode", havingValue = "token")
+    public SecurityFilterChain tokenFilterChain(HttpSecurity http, TokenService tokenService,
+                                                TokenCookies tokenCookies) throws Exception {
+        commonRules(http)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, tokenCookies),
+                        UsernamePasswordAuthenticationFilter.class)
+                .formLogin(form -> form
+                        .loginPage("/login")
+                        .successHandler(new TokenLoginSuccessHandler(tokenService, tokenCookies, "/home"))
+                        .failureUrl("/login?error=true")
+                        .permitAll()
+                )
+                .logout(logout -> logout
+                        .logoutUrl("/logout")
+                        .addLogoutHandler((request, response, authentication) -> tokenCookies.clear(response))
+                        .logoutSuccessUrl("/login?logout=true")
+                        .permitAll()
+                );
+
+        return http.build();
+    }
+
+    // API clients get a 401 to act on; everything else is sent to the login page
+    private static AuthenticationEntryPoint authenticationEntryPoint() {
+        LinkedHashMap<RequestMatcher, AuthenticationEntryPoint> entryPoints = new LinkedHashMap<>();
+        entryPoints.put(PathPatternRequestMatcher.withDefaults().matcher("/api/**"),
+                new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+        DelegatingAuthenticationEntryPoint entryPoint = new DelegatingAuthenticationEntryPoint(entryPoints);
+        entryPoint.setDefaultEntryPoint(new LoginUrlAuthenticationEntryPoint("/login"));
+        return entryPoint;
+    }
+
+    private HttpSecurity commonRules(HttpSecurity http) throws Exception {
+        return http
+                .csrf(csrf -> csrf.disable())
+                .addFilterBefore(new TooManyRequestsFilter(), UsernamePasswordAuthenticationFilter.class)
+                // Registered after TooManyRequestsFilter at the same position, so it runs inside it
+                .addFilterBefore(new LoginRateLimitFilter(rateLimiter), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(authenticationEntryPoint()))
+                .authorizeHttpRequests(auth -> auth
+                        // Root-level *.css/*.js also covers the content-hashed names used in production
+                        .requestMatchers("/", "/login", "/register", "/*.css", "/*.js", "/images/**").permitAll()
+                        .requestMatchers("/auth/token", "/auth/refresh").permitAll()
+                        // Scrape and probe endpoints; only reachable on management.server.port
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .anyRequest().authenticated()
+                );
+    }
+}
@@ -0,0 +1,45 @@
+package com.group.a.social_media_app.config;
+
+import com.group.a.social_media_app.exception.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns a {@link TooManyRequestsException} thrown inside the security filter chain (e.g. from
+ * password verification during form login, which runs before any controller advice) into a
+ * 429 with {@code Retry-After}.
+ */
+@Slf4j
+public class TooManyRequestsFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (TooManyRequestsException e) {
+            reject(response, e);
+        } catch (ServletException e) {
+            if (!(e.getCause() instanceof TooManyRequestsException tooMany)) throw e;
+            reject(response, tooMany);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, TooManyRequestsException e) throws IOException {
+        log.warn("Shedding request: {}", e.getMessage());
+        if (response.isCommitted()) return;
+        response.resetBuffer();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(e.getMessage());
+    }
+}
@@ -8,6 +8,7 @@ import com.group.a.social_media_app.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -65,7 +66,8 @@ public class AuthController {
         } catch (UserAlreadyExistsException e) {
             result.rejectValue("email", "error.user", e.getMessage());
             return "register";
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
+            log.warn("Registration failed for {}", dto.getEmail(), e);
             model.addAttribute("error", "Registration failed. Try again.");
             return "register";
         }
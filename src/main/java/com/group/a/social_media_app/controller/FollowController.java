@@ -0,0 +1,58 @@
+package com.group.a.social_media_app.controller;
+
+import com.group.a.social_media_app.config.CurrentUser;
+import com.group.a.social_media_app.dto.UserSnapshot;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.service.FollowService;
+import com.group.a.social_media_app.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class FollowController {
+
+    private final FollowService followService;
+    private final UserService userService;
+
+    @PostMapping("/follow")
+    public String follow(@RequestParam String email,
+                         @CurrentUser UserSnapshot currentUser,
+                         RedirectAttributes redirect) {
+        User followee = userService.findByEmail(email).orElse(null);
+        if (followee == null || !Boolean.TRUE.equals(followee.getIsActive())) {
+            redirect.addFlashAttribute("error", "No user found with that email.");
+            return "redirect:/timeline";
+        }
+        if (followee.getId().equals(currentUser.getId())) {
+            redirect.addFlashAttribute("error", "You cannot follow yourself.");
+            return "redirect:/timeline";
+        }
+
+        if (followService.follow(currentUser.getId(), followee.getId())) {
+            redirect.addFlashAttribute("success", "You are now following " + followee.getFullName() + ".");
+        } else {
+            redirect.addFlashAttribute("success", "You already follow " + followee.getFullName() + ".");
+        }
+        return "redirect:/timeline";
+    }
+
+    @PostMapping("/unfollow")
+    public String unfollow(@RequestParam String email,
+                           @CurrentUser UserSnapshot currentUser,
+                           RedirectAttributes redirect) {
+        User followee = userService.findByEmail(email).orElse(null);
+        if (followee == null || !followService.unfollow(currentUser.getId(), followee.getId())) {
+            redirect.addFlashAttribute("error", "You do not follow that user.");
+            return "redirect:/timeline";
+        }
+
+        redirect.addFlashAttribute("success", "Unfollowed " + followee.getFullName() + ".");
+        return "redirect:/timeline";
+    }
+}
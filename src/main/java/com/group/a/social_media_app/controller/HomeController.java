@@ -1,18 +1,24 @@
 package com.group.a.social_media_app.controller;
 
 import org.springframework.ui.Model;
+import com.group.a.social_media_app.config.CurrentUser;
+import com.group.a.social_media_app.dto.FeedPage;
 import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.dto.UserSnapshot;
 import com.group.a.social_media_app.entity.User;
-import com.group.a.social_media_app.service.CustomUserDetailsService;
+import com.group.a.social_media_app.reaction.ReactionService;
 import com.group.a.social_media_app.service.PostService;
 import com.group.a.social_media_app.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.List;
+import java.time.ZoneId;
 import java.util.Optional;
 
 @Controller
@@ -22,19 +28,63 @@ public class HomeController {
 
     private final UserService userService;
     private final PostService postService;
+    private final ReactionService reactionService;
 
+    /**
+     * Answers 304 when none of the user's posts changed since the browser's copy: the weak
+     * ETag covers the post count (deletes), the latest updatedAt (creates and edits) and this
+     * node's reaction version, so a reaction elsewhere behind a load balancer may show late.
+     * Pages carrying a flash message are always rendered in full.
+     */
     @GetMapping("/home")
-    public String home(@AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal,
-                       Model model) {
-        String email = principal.getUsername();
-        User user = userService.findByEmail(email).orElse(null);
-        if (user == null) return "redirect:/login?error=true";
-
-        List<PostDTO> posts = postService.convertToDTOs(postService.getPostsByUser(user));
-        model.addAttribute("currentUser", user);
-        model.addAttribute("posts", posts);
-        model.addAttribute("postCount", Optional.of(postService.getPostCountByUser(user)));
+    public String home(@CurrentUser UserSnapshot currentUser,
+                       Model model,
+                       ServletWebRequest request) {
+        if (currentUser == null) return "redirect:/login?error=true";
+        User user = userService.getReference(currentUser.getId());
+
+        long postCount = postService.getPostCountByUser(user);
+        long lastModified = postService.getLastUpdatedAt(user.getId())
+                .map(updatedAt -> updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(-1L);
+        boolean hasFlash = model.containsAttribute("success") || model.containsAttribute("error");
+        if (!hasFlash) {
+            // Revalidate every time, but let the browser keep its copy for a 304
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+            String etag = "W/\"" + user.getId() + "-" + postCount + "-" + Math.max(lastModified, 0)
+                    + "-" + reactionService.version() + "\"";
+            if (request.checkNotModified(etag, lastModified)) return null;
+        }
+
+        FeedPage page = postService.getFeedPage(user, null);
+        model.addAttribute("currentUser", currentUser);
+        model.addAttribute("posts", reactionService.withCounts(page.getPosts()));
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("postCount", Optional.of(postCount));
         model.addAttribute("newPost", new PostDTO());
         return "feed";
     }
-}
\ No newline at end of file
+
+    @GetMapping("/timeline")
+    public String timeline(@CurrentUser UserSnapshot currentUser,
+                           Model model) {
+        if (currentUser == null) return "redirect:/login?error=true";
+
+        FeedPage page = postService.getTimelinePage(currentUser.getId(), null);
+        model.addAttribute("currentUser", currentUser);
+        model.addAttribute("posts", reactionService.withCounts(page.getPosts()));
+        model.addAttribute("nextCursor", page.getNextCursor());
+        return "timeline";
+    }
+
+    // "Load more" on the timeline: renders only the next slice of posts
+    @GetMapping("/timeline/feed")
+    public String timelinePage(@RequestParam(required = false) String cursor,
+                               @CurrentUser UserSnapshot currentUser,
+                               Model model) {
+        FeedPage page = postService.getTimelinePage(currentUser.getId(), cursor);
+        model.addAttribute("posts", reactionService.withCounts(page.getPosts()));
+        model.addAttribute("nextCursor", page.getNextCursor());
+        return "timeline :: postPage";
+    }
+}
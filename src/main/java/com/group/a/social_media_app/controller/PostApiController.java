@@ -0,0 +1,106 @@
+package com.group.a.social_media_app.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.group.a.social_media_app.config.CurrentUser;
+import com.group.a.social_media_app.dto.FeedPage;
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.dto.PostJson;
+import com.group.a.social_media_app.dto.UserSnapshot;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.ratelimit.RateLimited;
+import com.group.a.social_media_app.ratelimit.RateLimiter;
+import com.group.a.social_media_app.service.PostService;
+import com.group.a.social_media_app.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON API over the current user's posts for mobile clients and integrations. Writes answer
+ * with 201/204 directly; the list is streamed with a Jackson generator rather than built as a
+ * tree. Authenticate with the session cookie or, in token mode, a Bearer token. Clients that
+ * want to list their own posts straight after writing one should keep the {@code PRIMARY_UNTIL}
+ * cookie from the response, or the list may be read from a lagging replica.
+ */
+@RestController
+@RequestMapping(path = "/api/v1/posts", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+public class PostApiController {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final PostService postService;
+    private final UserService userService;
+
+    @GetMapping
+    public void list(@RequestParam(required = false) String cursor,
+                     @CurrentUser UserSnapshot currentUser,
+                     HttpServletResponse response) throws IOException {
+        FeedPage page = postService.getFeedPage(userService.getReference(currentUser.getId()), cursor);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (JsonGenerator json = JSON.createGenerator(response.getOutputStream())) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("posts");
+            for (PostDTO post : page.getPosts()) {
+                PostJson.from(post).writeTo(json);
+            }
+            json.writeEndArray();
+            json.writeStringField("nextCursor", page.getNextCursor());
+            json.writeEndObject();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PostJson> get(@PathVariable Long id,
+                                        @CurrentUser UserSnapshot currentUser) {
+        Post post = postService.findById(id).orElse(null);
+        if (post == null) return ResponseEntity.notFound().build();
+        if (!post.getUser().getId().equals(currentUser.getId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
+        return ResponseEntity.ok(PostJson.from(postService.convertToDTO(post)));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @RateLimited(RateLimiter.POST_CREATE)
+    public ResponseEntity<PostJson> create(@Valid @RequestBody PostDTO postDTO,
+                                           @CurrentUser UserSnapshot currentUser) {
+        Post saved = postService.createPost(postDTO, userService.getReference(currentUser.getId()));
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .path("/{id}").buildAndExpand(saved.getId()).toUri())
+                .body(PostJson.of(saved, currentUser.getFullName()));
+    }
+
+    @PutMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> update(@PathVariable Long id,
+                                       @Valid @RequestBody PostDTO postDTO,
+                                       @CurrentUser UserSnapshot currentUser) {
+        Post post = postService.findById(id).orElse(null);
+        if (post == null) return ResponseEntity.notFound().build();
+        if (!post.getUser().getId().equals(currentUser.getId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
+        postService.updatePost(post, postDTO.getContent());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id,
+                                       @CurrentUser UserSnapshot currentUser) {
+        Post post = postService.findById(id).orElse(null);
+        if (post == null) return ResponseEntity.notFound().build();
+        if (!post.getUser().getId().equals(currentUser.getId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
+        postService.deletePost(post);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,21 +1,39 @@
 package com.group.a.social_media_app.controller;
 
 import org.springframework.ui.Model;
+import com.group.a.social_media_app.config.CurrentUser;
+import com.group.a.social_media_app.dto.FeedPage;
 import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.dto.UserSnapshot;
 import com.group.a.social_media_app.entity.Post;
-import com.group.a.social_media_app.entity.User;
-import com.group.a.social_media_app.service.CustomUserDetailsService;
+import com.group.a.social_media_app.entity.ReactionType;
+import com.group.a.social_media_app.ratelimit.RateLimited;
+import com.group.a.social_media_app.ratelimit.RateLimiter;
+import com.group.a.social_media_app.reaction.ReactionService;
+import com.group.a.social_media_app.search.PostSearchService;
+import com.group.a.social_media_app.service.PostExportService;
 import com.group.a.social_media_app.service.PostService;
 import com.group.a.social_media_app.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Controller
@@ -24,49 +42,162 @@ import java.util.Optional;
 @Slf4j
 public class PostController {
 
+    // Sent by fragment-aware clients (htmx, script.js); the response is the changed markup only
+    static final String FRAGMENT_HEADER = "HX-Request";
+
     private final PostService postService;
     private final UserService userService;
+    private final PostSearchService postSearchService;
+    private final PostExportService postExportService;
+    private final ReactionService reactionService;
+    private final RateLimiter rateLimiter;
+    private final Validator validator;
+
+    @Value("${app.posts.import-max-size:10000}")
+    private int importMaxSize;
+
+    // "Load more" on the feed: renders only the next slice of posts
+    @GetMapping("/feed")
+    public String feedPage(@RequestParam(required = false) String cursor,
+                           @CurrentUser UserSnapshot currentUser,
+                           Model model) {
+        FeedPage page = postService.getFeedPage(userService.getReference(currentUser.getId()), cursor);
+        model.addAttribute("posts", reactionService.withCounts(page.getPosts()));
+        model.addAttribute("nextCursor", page.getNextCursor());
+        return "feed :: postPage";
+    }
+
+    // Full page for a new query; the results fragment alone when paging with a cursor
+    @GetMapping("/search")
+    public String search(@RequestParam(name = "q", required = false) String query,
+                         @RequestParam(required = false) String cursor,
+                         Model model) {
+        FeedPage page = postSearchService.search(query, cursor);
+        model.addAttribute("query", query);
+        model.addAttribute("posts", reactionService.withCounts(page.getPosts()));
+        model.addAttribute("nextCursor", page.getNextCursor());
+        return cursor == null ? "search" : "search :: postPage";
+    }
 
     @PostMapping("/create")
+    @RateLimited(RateLimiter.POST_CREATE)
     public String createPost(@Valid @ModelAttribute("newPost") PostDTO postDTO,
                              BindingResult result,
-                             @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal,
+                             @CurrentUser UserSnapshot currentUser,
+                             @RequestHeader(name = FRAGMENT_HEADER, defaultValue = "false") boolean fragment,
+                             Model model,
+                             HttpServletResponse response,
                              RedirectAttributes redirect) {
         if (result.hasErrors()) {
+            if (fragment) return alert(model, response, HttpStatus.UNPROCESSABLE_ENTITY, "Post content is required");
             redirect.addFlashAttribute("error", "Post content is required");
             return "redirect:/home";
         }
 
-        User user = userService.findByEmail(principal.getUsername()).orElse(null);
-        if (user == null) return "/login";
-
-        postService.createPost(postDTO, user);
+        Post saved = postService.createPost(postDTO, userService.getReference(currentUser.getId()));
+        if (fragment) {
+            response.setStatus(HttpStatus.CREATED.value());
+            return postFragment(saved, currentUser, model);
+        }
         redirect.addFlashAttribute("success", "Post created successfully!");
         return "redirect:/home";
     }
 
+    /**
+     * Bulk import for migrations and seeding: a JSON array of posts, all attributed to the
+     * current user. The batch is rejected as a whole if any post is invalid.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> importPosts(@RequestBody List<PostDTO> posts,
+                                                           @CurrentUser UserSnapshot currentUser) {
+        if (posts.size() > importMaxSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("error", "At most " + importMaxSize + " posts per import"));
+        }
+        for (int i = 0; i < posts.size(); i++) {
+            if (!validator.validate(posts.get(i)).isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid post at index " + i));
+            }
+        }
+        // Charged per post, so imports cannot route around the per-user creation rate
+        rateLimiter.acquire(RateLimiter.POST_IMPORT, currentUser.getId(), posts.size());
+
+        List<Long> ids = postService.createPosts(posts, userService.getReference(currentUser.getId()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("imported", ids.size()));
+    }
+
+    // Streams straight to the response; nothing is buffered beyond the writer's few kilobytes
+    @GetMapping("/export")
+    public void exportPosts(@RequestParam(defaultValue = "ndjson") String format,
+                            @CurrentUser UserSnapshot currentUser,
+                            HttpServletResponse response) throws IOException {
+        PostExportService.Format exportFormat = PostExportService.Format.of(format).orElse(null);
+        if (exportFormat == null) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unsupported export format: " + format);
+            return;
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("posts." + exportFormat.getExtension())
+                .build().toString());
+        postExportService.export(currentUser.getId(), currentUser.getFullName(), exportFormat, response.getOutputStream());
+    }
+
+    // Toggles the current user's reaction; fragment clients get the post's updated reaction bar
+    @PostMapping("/{id}/react")
+    public String react(@PathVariable Long id,
+                        @RequestParam ReactionType type,
+                        @CurrentUser UserSnapshot currentUser,
+                        @RequestHeader(name = FRAGMENT_HEADER, defaultValue = "false") boolean fragment,
+                        Model model,
+                        HttpServletResponse response,
+                        RedirectAttributes redirect) {
+        if (postService.findById(id).isEmpty()) {
+            if (fragment) return alert(model, response, HttpStatus.NOT_FOUND, "Post not found.");
+            redirect.addFlashAttribute("error", "Post not found.");
+            return "redirect:/home";
+        }
+
+        reactionService.toggle(id, currentUser.getId(), type);
+        if (fragment) {
+            model.addAttribute("post", reactionService.withCounts(PostDTO.builder().id(id).build()));
+            return "feed :: reactions";
+        }
+        return "redirect:/home";
+    }
+
     @PostMapping("/delete/{id}")
     public String deletePost(@PathVariable Long id,
-                             @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal,
+                             @CurrentUser UserSnapshot currentUser,
+                             @RequestHeader(name = FRAGMENT_HEADER, defaultValue = "false") boolean fragment,
+                             Model model,
+                             HttpServletResponse response,
                              RedirectAttributes redirect) {
         Optional<Post> postOpt = postService.findById(id);
-        if (postOpt.isEmpty() || !postOpt.get().getUser().getEmail().equals(principal.getUsername())) {
+        if (postOpt.isEmpty() || !isOwner(postOpt.get(), currentUser)) {
+            if (fragment) return alert(model, response, HttpStatus.FORBIDDEN, "You can only delete your own posts.");
             redirect.addFlashAttribute("error", "You can only delete your own posts.");
             return "redirect:/home";
         }
 
-        postService.deletePost(id);
+        postService.deletePost(postOpt.get());
+        if (fragment) {
+            model.addAttribute("success", "Post deleted.");
+            return "feed :: alerts";
+        }
         redirect.addFlashAttribute("success", "Post deleted.");
         return "redirect:/home";
     }
 
     @GetMapping("/edit/{id}")
     public String editPost(@PathVariable Long id,
-                           @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal,
+                           @CurrentUser UserSnapshot currentUser,
                            Model model,
                            RedirectAttributes redirect) {
         Post post = postService.findById(id).orElse(null);
-        if (post == null || !post.getUser().getEmail().equals(principal.getUsername())) {
+        if (post == null || !isOwner(post, currentUser)) {
             redirect.addFlashAttribute("error", "Unauthorized.");
             return "redirect:/home";
         }
@@ -79,22 +210,50 @@ public class PostController {
     public String updatePost(@PathVariable Long id,
                              @Valid @ModelAttribute("post") PostDTO postDTO,
                              BindingResult result,
-                             @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal,
+                             @CurrentUser UserSnapshot currentUser,
+                             @RequestHeader(name = FRAGMENT_HEADER, defaultValue = "false") boolean fragment,
+                             Model model,
+                             HttpServletResponse response,
                              RedirectAttributes redirect) {
         Post post = postService.findById(id).orElse(null);
-        if (post == null || !post.getUser().getEmail().equals(principal.getUsername())) {
+        if (post == null || !isOwner(post, currentUser)) {
+            if (fragment) return alert(model, response, HttpStatus.FORBIDDEN, "Unauthorized.");
             redirect.addFlashAttribute("error", "Unauthorized.");
             return "redirect:/home";
         }
 
         if (result.hasErrors()) {
+            if (fragment) return alert(model, response, HttpStatus.UNPROCESSABLE_ENTITY, "Post update failed.");
             redirect.addFlashAttribute("error", "Post update failed.");
             return "redirect:/home";
         }
 
-        post.setContent(postDTO.getContent());
-        postService.updatePost(post);
+        Post updated = postService.updatePost(post, postDTO.getContent());
+        if (fragment) return postFragment(updated, currentUser, model);
         redirect.addFlashAttribute("success", "Post updated.");
         return "redirect:/home";
     }
-}
\ No newline at end of file
+
+    // The author is the current user, so the post renders without loading its user row
+    private String postFragment(Post post, UserSnapshot author, Model model) {
+        model.addAttribute("post", reactionService.withCounts(PostDTO.builder()
+                .id(post.getId())
+                .content(post.getContent())
+                .authorName(author.getFullName())
+                .createdAt(post.getCreatedAt())
+                .timeAgo(post.getTimeAgo())
+                .build()));
+        return "feed :: post";
+    }
+
+    private String alert(Model model, HttpServletResponse response, HttpStatus status, String error) {
+        response.setStatus(status.value());
+        model.addAttribute("error", error);
+        return "feed :: alerts";
+    }
+
+    // Compares ids only, so the lazy author proxy is never initialized
+    private boolean isOwner(Post post, UserSnapshot currentUser) {
+        return post.getUser().getId().equals(currentUser.getId());
+    }
+}
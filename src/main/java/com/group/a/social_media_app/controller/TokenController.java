@@ -0,0 +1,66 @@
+package com.group.a.social_media_app.controller;
+
+import com.group.a.social_media_app.dto.TokenPair;
+import com.group.a.social_media_app.security.TokenCookies;
+import com.group.a.social_media_app.security.TokenService;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Token endpoints for non-browser clients in token mode. Browsers get the same tokens as
+ * cookies from the login form and are refreshed transparently.
+ */
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnProperty(name = "app.security.mode", havingValue = "token")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenController {
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+    private final TokenCookies tokenCookies;
+
+    @PostMapping("/token")
+    public ResponseEntity<TokenPair> token(@RequestParam String username, @RequestParam String password) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(username, password));
+            CustomUserPrincipal principal = (CustomUserPrincipal) authentication.getPrincipal();
+            return ResponseEntity.ok(tokenService.issue(principal.getSnapshot()));
+        } catch (AuthenticationException e) {
+            log.debug("Token request rejected for {}: {}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    // Takes the refresh token as a parameter, or from the refresh cookie for browsers
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenPair> refresh(@RequestParam(name = "refreshToken", required = false) String refreshToken,
+                                             HttpServletRequest request,
+                                             HttpServletResponse response) {
+        boolean fromCookie = refreshToken == null;
+        String token = fromCookie ? tokenCookies.refreshToken(request).orElse(null) : refreshToken;
+        return tokenService.refresh(token)
+                .map(principal -> {
+                    TokenPair tokens = tokenService.issue(principal.getSnapshot());
+                    if (fromCookie) tokenCookies.write(response, tokens);
+                    return ResponseEntity.ok(tokens);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
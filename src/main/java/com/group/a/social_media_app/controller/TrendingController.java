@@ -0,0 +1,39 @@
+package com.group.a.social_media_app.controller;
+
+import com.group.a.social_media_app.trending.TrendingService;
+import com.group.a.social_media_app.trending.TrendingWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+// Both views read the ranking TrendingService already holds; neither touches the database
+@Controller
+@RequiredArgsConstructor
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    @GetMapping("/trending")
+    public String trending(Model model) {
+        model.addAttribute("lastHour", trendingService.trending(TrendingWindow.HOUR));
+        model.addAttribute("lastDay", trendingService.trending(TrendingWindow.DAY));
+        return "trending";
+    }
+
+    @GetMapping(path = "/trending", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> trendingJson(@RequestParam(defaultValue = "hour") String window) {
+        return TrendingWindow.of(window)
+                .<ResponseEntity<Map<String, Object>>>map(w -> ResponseEntity.ok(Map.of(
+                        "window", w.getName(),
+                        "tags", trendingService.trending(w))))
+                .orElseGet(() -> ResponseEntity.badRequest().body(Map.of("error", "Unsupported window: " + window)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.group.a.social_media_app.dto;
+
+import java.time.Instant;
+
+/**
+ * How far the background deletion of one account has got. Counts are rows removed so far.
+ */
+public record AccountPurgeProgress(Long userId, State state, long postsDeleted, long followsDeleted,
+                                   Instant startedAt, Instant finishedAt) {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public static AccountPurgeProgress queued(Long userId) {
+        return new AccountPurgeProgress(userId, State.QUEUED, 0, 0, null, null);
+    }
+
+    public AccountPurgeProgress running(long postsDeleted, long followsDeleted) {
+        return new AccountPurgeProgress(userId, State.RUNNING, postsDeleted, followsDeleted,
+                startedAt != null ? startedAt : Instant.now(), null);
+    }
+
+    public AccountPurgeProgress finished(State state) {
+        return new AccountPurgeProgress(userId, state, postsDeleted, followsDeleted, startedAt, Instant.now());
+    }
+
+    public boolean isPending() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+}
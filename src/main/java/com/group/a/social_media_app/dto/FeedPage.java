@@ -0,0 +1,20 @@
+package com.group.a.social_media_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedPage {
+
+    private List<PostDTO> posts;
+
+    // Null when there is nothing left to load
+    private String nextCursor;
+}
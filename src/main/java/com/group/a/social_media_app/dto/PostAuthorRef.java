@@ -0,0 +1,7 @@
+package com.group.a.social_media_app.dto;
+
+/**
+ * Post id paired with its author id; all the timeline fan-out needs from a post row.
+ */
+public record PostAuthorRef(Long postId, Long authorId) {
+}
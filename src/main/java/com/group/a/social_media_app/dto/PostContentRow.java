@@ -0,0 +1,9 @@
+package com.group.a.social_media_app.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post's text and timestamps without its author, for consumers that only read content.
+ */
+public record PostContentRow(Long id, String content, LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
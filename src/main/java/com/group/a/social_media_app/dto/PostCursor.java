@@ -0,0 +1,35 @@
+package com.group.a.social_media_app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Keyset position in a feed ordered by {@code (createdAt DESC, id DESC)}.
+ * Encoded as an opaque, URL-safe token for the "load more" requests.
+ */
+public record PostCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<PostCursor> decode(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) return Optional.empty();
+            return Optional.of(new PostCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    Long.valueOf(raw.substring(split + 1))));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
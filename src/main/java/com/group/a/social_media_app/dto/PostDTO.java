@@ -7,7 +7,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.group.a.social_media_app.entity.ReactionType;
+
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -27,4 +31,17 @@ public class PostDTO {
 
     private String timeAgo;
 
+    // Filled in by ReactionService.withCounts; types nobody used are absent
+    @Builder.Default
+    private Map<ReactionType, Long> reactions = Map.of();
+
+    public long getReactionCount(ReactionType type) {
+        return reactions.getOrDefault(type, 0L);
+    }
+
+    // Lets the page refresh timeAgo labels client-side without asking the server again
+    public Long getCreatedAtEpochMilli() {
+        return createdAt == null ? null : createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
 }
@@ -0,0 +1,9 @@
+package com.group.a.social_media_app.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a post with its author's name, loaded by a single JOIN query.
+ */
+public record PostFeedRow(Long id, String content, LocalDateTime createdAt, String authorName) {
+}
@@ -0,0 +1,40 @@
+package com.group.a.social_media_app.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.group.a.social_media_app.entity.Post;
+
+import java.io.IOException;
+
+/**
+ * API representation of a post: short field names and an epoch-millisecond timestamp in place
+ * of the rendered "time ago" label. {@link #writeTo} must emit the same fields Jackson would.
+ */
+public record PostJson(Long id, String content, String author, Long createdAt) {
+
+    public static PostJson from(PostDTO post) {
+        return new PostJson(post.getId(), post.getContent(), post.getAuthorName(), post.getCreatedAtEpochMilli());
+    }
+
+    // For a post just written by a known author, without loading the author row
+    public static PostJson of(Post post, String author) {
+        return from(PostDTO.builder()
+                .id(post.getId())
+                .content(post.getContent())
+                .authorName(author)
+                .createdAt(post.getCreatedAt())
+                .build());
+    }
+
+    public void writeTo(JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", id);
+        json.writeStringField("content", content);
+        json.writeStringField("author", author);
+        if (createdAt != null) {
+            json.writeNumberField("createdAt", createdAt);
+        } else {
+            json.writeNullField("createdAt");
+        }
+        json.writeEndObject();
+    }
+}
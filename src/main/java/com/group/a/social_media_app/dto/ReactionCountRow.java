@@ -0,0 +1,9 @@
+package com.group.a.social_media_app.dto;
+
+import com.group.a.social_media_app.entity.ReactionType;
+
+/**
+ * One flushed reaction total, as read back to warm the in-memory counts.
+ */
+public record ReactionCountRow(Long postId, ReactionType type, Long count) {
+}
@@ -0,0 +1,9 @@
+package com.group.a.social_media_app.dto;
+
+import com.group.a.social_media_app.entity.ReactionType;
+
+/**
+ * Identifies a reaction row and the count it contributes to, without loading the entity.
+ */
+public record ReactionRef(Long id, Long postId, ReactionType type) {
+}
@@ -0,0 +1,32 @@
+package com.group.a.social_media_app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Keyset position in search results ordered by {@code (score DESC, id DESC)}.
+ */
+public record SearchCursor(double score, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = Double.toString(score) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<SearchCursor> decode(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) return Optional.empty();
+            return Optional.of(new SearchCursor(
+                    Double.parseDouble(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
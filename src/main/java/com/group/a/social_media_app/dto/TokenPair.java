@@ -0,0 +1,8 @@
+package com.group.a.social_media_app.dto;
+
+/**
+ * Tokens returned by {@code /auth/token} and {@code /auth/refresh}; {@code expiresIn} is the
+ * access token lifetime in seconds.
+ */
+public record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+}
@@ -0,0 +1,7 @@
+package com.group.a.social_media_app.dto;
+
+/**
+ * User id paired with the email; what the registered-email filter reads from each user row.
+ */
+public record UserEmailRef(Long userId, String email) {
+}
@@ -0,0 +1,38 @@
+package com.group.a.social_media_app.dto;
+
+import com.group.a.social_media_app.entity.User;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Immutable copy of the signed-in user's identity, captured at login and kept in the
+ * security context. Safe to hold across requests and sessions, unlike a managed {@link User}.
+ */
+@Value
+@Builder
+public class UserSnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    public static UserSnapshot of(User user) {
+        return UserSnapshot.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .build();
+    }
+}
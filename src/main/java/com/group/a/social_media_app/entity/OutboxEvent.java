@@ -0,0 +1,58 @@
+package com.group.a.social_media_app.entity;
+
+import com.group.a.social_media_app.event.PostEvent;
+import com.group.a.social_media_app.event.PostEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row: written in the same transaction as the post change it describes.
+ * Every node reads it with its own cursor, so it is never claimed or deleted on delivery; rows
+ * older than {@code app.outbox.retention} are pruned.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_created", columnList = "created_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private PostEventType eventType;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public static OutboxEvent of(PostEvent event, LocalDateTime now) {
+        return OutboxEvent.builder()
+                .eventType(event.type())
+                .postId(event.postId())
+                .authorId(event.authorId())
+                .createdAt(now)
+                .build();
+    }
+
+    public PostEvent toPostEvent() {
+        return PostEvent.of(eventType, postId, authorId);
+    }
+}
@@ -4,6 +4,7 @@ package com.group.a.social_media_app.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import com.group.a.social_media_app.util.RelativeTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +16,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_posts_user_id", columnList = "user_id, id DESC"),
+        @Index(name = "idx_posts_user_updated", columnList = "user_id, updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,8 +28,11 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Post {
 
+    // Sequence ids are known before the INSERT, so inserts can be JDBC-batched. Not pooled:
+    // per-node blocks would break "higher id = newer", which timelines and cursors rely on.
+    // Imports assign ids from one block fetch instead (see PostIdGenerator)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PostId
     private Long id;
 
     @Column(nullable = false, length = 1000)
@@ -44,16 +52,9 @@ public class Post {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Single posts only; lists should share one RelativeTime snapshot
     public String getTimeAgo() {
-        LocalDateTime now = LocalDateTime.now();
-        if (createdAt == null) return "";
-        long minutes = java.time.Duration.between(createdAt, now).toMinutes();
-        if (minutes < 1) return "Just now";
-        if (minutes < 60) return minutes + " minute(s) ago";
-        long hours = minutes / 60;
-        if (hours < 24) return hours + " hour(s) ago";
-        long days = hours / 24;
-        return days + " day(s) ago";
+        return RelativeTime.now().format(createdAt);
     }
 
 }
\ No newline at end of file
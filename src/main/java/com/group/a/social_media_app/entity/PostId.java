@@ -0,0 +1,15 @@
+package com.group.a.social_media_app.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Generates Post.id with PostIdGenerator
+@IdGeneratorType(PostIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface PostId {
+}
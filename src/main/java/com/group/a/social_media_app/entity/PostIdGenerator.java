@@ -0,0 +1,36 @@
+package com.group.a.social_media_app.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Post ids from {@code posts_seq}, one {@code nextval} per post so a higher id still means a
+ * newer post across nodes. Ids already set on the entity are kept: imports fetch a whole
+ * block in one round trip ({@code PostRepository.nextIds}) instead of one call per row.
+ */
+public class PostIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE = "posts_seq";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        parameters.put(SEQUENCE_PARAM, SEQUENCE);
+        parameters.put(INCREMENT_PARAM, "1");
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Long assigned = ((Post) object).getId();
+        return assigned != null ? assigned : super.generate(session, object);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
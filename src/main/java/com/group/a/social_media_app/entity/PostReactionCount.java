@@ -0,0 +1,45 @@
+package com.group.a.social_media_app.entity;
+
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Aggregated reactions per post and type. Written only by {@code ReactionCounter}'s batched
+ * relative updates, never per click. Like {@link UserStats}, it holds the post id without a
+ * foreign key, so a flush racing a delete cannot fail the whole batch.
+ */
+@Entity
+@Table(name = "post_reaction_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostReactionCount {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "reaction_count", nullable = false)
+    @Builder.Default
+    private Long count = 0L;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "post_id")
+        private Long postId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "reaction_type", length = 20)
+        private ReactionType type;
+    }
+}
@@ -0,0 +1,20 @@
+package com.group.a.social_media_app.entity;
+
+public enum ReactionType {
+
+    LIKE("👍"),
+    LOVE("❤️"),
+    LAUGH("😂"),
+    WOW("😮"),
+    SAD("😢");
+
+    private final String emoji;
+
+    ReactionType(String emoji) {
+        this.emoji = emoji;
+    }
+
+    public String getEmoji() {
+        return emoji;
+    }
+}
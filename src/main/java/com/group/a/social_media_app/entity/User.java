@@ -15,7 +15,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints =
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,12 +24,16 @@ import java.util.List;
 @EntityListeners(AuditingEntityListener.class)
 public class User {
 
+    // Named so a duplicate registration can be told apart from other integrity violations
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Getter
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @Email(message = "Please provide a valid email address")
     @NotBlank(message = "Email is required")
     private String email;
@@ -58,7 +63,12 @@ public class User {
     @Builder.Default
     private Boolean isActive = true;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // Set once the account is being purged; AccountLifecycleService finishes any left over
+    @Column(name = "deletion_requested_at")
+    private LocalDateTime deletionRequestedAt;
+
+    // Never cascaded: an account's posts are removed in chunks by AccountLifecycleService
+    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     @Builder.Default
     private List<Post> posts = new ArrayList<>();
 
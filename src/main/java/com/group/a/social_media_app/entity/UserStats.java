@@ -0,0 +1,31 @@
+package com.group.a.social_media_app.entity;
+
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized per-user counters, kept apart from {@link User} so saving a user can never
+ * write back a stale count. Maintained by relative UPDATEs in the same transaction as the
+ * change, and repaired by {@code PostCountReconciler}.
+ */
+@Entity
+@Table(name = "user_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "post_count", nullable = false)
+    @Builder.Default
+    private Long postCount = 0L;
+
+}
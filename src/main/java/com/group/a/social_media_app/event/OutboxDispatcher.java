@@ -0,0 +1,216 @@
+package com.group.a.social_media_app.event;
+
+import com.group.a.social_media_app.config.ReadYourWrites;
+import com.group.a.social_media_app.entity.OutboxEvent;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers every outbox event to this node's {@link PostEventConsumer}s, off the request path.
+ * Consumers keep node-local state (timelines, the in-memory search index, trending counts), so
+ * each node reads the whole outbox with its own cursor instead of competing for rows.
+ * <p>
+ * The cursor is the newest {@code created_at} seen. Each drain scans from {@code commit-grace}
+ * before it, to catch events that committed after newer ones, and skips ids it already
+ * delivered. A node that starts up rebuilds its state from the tables and only reads events
+ * from then on. Failed events are retried with exponential backoff, which keeps the scan open
+ * behind them, and given up after {@code max-attempts}. Rows are pruned by age, not on delivery.
+ * Drains run on a single thread with room for one queued request, so a burst of commits
+ * coalesces into back-to-back drains.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private record Retry(LocalDateTime createdAt, int attempts, LocalDateTime nextAttemptAt) {
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<PostEventConsumer> consumers;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter parked;
+
+    // Guarded by this: the cursor, ids handled inside the grace window, and events awaiting a retry
+    private LocalDateTime watermark = LocalDateTime.now();
+    private final Map<Long, LocalDateTime> handled = new HashMap<>();
+    private final Map<Long, Retry> retries = new HashMap<>();
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<PostEventConsumer> consumers,
+                            OutboxProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.consumers = consumers;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new CustomizableThreadFactory("outbox-"), new ThreadPoolExecutor.DiscardPolicy());
+        this.delivered = meterRegistry.counter("app.outbox.events", "outcome", "delivered");
+        this.retried = meterRegistry.counter("app.outbox.events", "outcome", "retried");
+        this.parked = meterRegistry.counter("app.outbox.events", "outcome", "parked");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxEventsWritten(OutboxEventsWritten written) {
+        if (properties.isAutoDispatch()) executor.execute(this::drainQuietly);
+    }
+
+    // Picks up events written by other nodes and retries that came due
+    @Scheduled(initialDelayString = "${app.outbox.poll-interval:PT5S}",
+            fixedDelayString = "${app.outbox.poll-interval:PT5S}")
+    public void poll() {
+        if (properties.isAutoDispatch()) executor.execute(this::drainQuietly);
+    }
+
+    // Any node may prune; the delete is idempotent
+    @Scheduled(initialDelayString = "${app.outbox.prune-interval:PT10M}",
+            fixedDelayString = "${app.outbox.prune-interval:PT10M}")
+    public void prune() {
+        int pruned = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention())));
+        if (pruned > 0) log.info("Pruned {} outbox events older than {}", pruned, properties.getRetention());
+    }
+
+    /**
+     * Delivers every event this node has not handled yet, batch by batch, on the calling
+     * thread. Returns how many events were delivered.
+     */
+    public synchronized int drain() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime afterCreatedAt = scanStart();
+        long afterId = Long.MIN_VALUE;
+        int total = 0;
+        List<OutboxEvent> page;
+        do {
+            page = outboxEventRepository.findAfter(afterCreatedAt, afterId, Limit.of(properties.getBatchSize()));
+            List<OutboxEvent> due = page.stream().filter(event -> isDue(event, now)).toList();
+            if (!due.isEmpty()) total += deliver(due);
+            if (!page.isEmpty()) {
+                OutboxEvent last = page.getLast();
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+                if (afterCreatedAt.isAfter(watermark)) watermark = afterCreatedAt;
+            }
+        } while (page.size() == properties.getBatchSize());
+
+        // Ids behind every future scan can be forgotten
+        LocalDateTime forgetBefore = scanStart();
+        handled.values().removeIf(createdAt -> createdAt.isBefore(forgetBefore));
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Outbox drain failed; retrying on the next poll", e);
+        }
+    }
+
+    private LocalDateTime scanStart() {
+        LocalDateTime start = watermark.minus(properties.getCommitGrace());
+        for (Retry retry : retries.values()) {
+            if (!retry.createdAt().isAfter(start)) start = retry.createdAt().minusNanos(1000);
+        }
+        return start;
+    }
+
+    private boolean isDue(OutboxEvent event, LocalDateTime now) {
+        if (handled.containsKey(event.getId())) return false;
+        Retry retry = retries.get(event.getId());
+        return retry == null || !retry.nextAttemptAt().isAfter(now);
+    }
+
+    private int deliver(List<OutboxEvent> batch) {
+        try {
+            dispatch(batch.stream().map(OutboxEvent::toPostEvent).toList());
+            batch.forEach(this::complete);
+            return batch.size();
+        } catch (RuntimeException batchFailure) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), batchFailure);
+                return 0;
+            }
+            // Retry one by one so a single bad event does not hold back the rest
+            int succeeded = 0;
+            for (OutboxEvent event : batch) {
+                try {
+                    dispatch(List.of(event.toPostEvent()));
+                    complete(event);
+                    succeeded++;
+                } catch (RuntimeException e) {
+                    fail(event, e);
+                }
+            }
+            return succeeded;
+        }
+    }
+
+    // Consumers react to a commit that a lagging replica may not have yet
+    private void dispatch(List<PostEvent> events) {
+        ReadYourWrites.runOnPrimary(() -> {
+            for (PostEventConsumer consumer : consumers) {
+                consumer.onPostEvents(events);
+            }
+        });
+    }
+
+    private void complete(OutboxEvent event) {
+        handled.put(event.getId(), event.getCreatedAt());
+        retries.remove(event.getId());
+        delivered.increment();
+    }
+
+    private void fail(OutboxEvent event, RuntimeException e) {
+        Retry previous = retries.get(event.getId());
+        int attempts = previous == null ? 1 : previous.attempts() + 1;
+        if (attempts < properties.getMaxAttempts()) {
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+            retries.put(event.getId(), new Retry(event.getCreatedAt(), attempts, nextAttemptAt));
+            retried.increment();
+            log.warn("Delivery of {} failed (attempt {}), retrying at {}: {}",
+                    event.toPostEvent(), attempts, nextAttemptAt, e.toString());
+        } else {
+            retries.remove(event.getId());
+            handled.put(event.getId(), event.getCreatedAt());
+            parked.increment();
+            log.error("Delivery of {} failed {} times; giving up on this node", event.toPostEvent(), attempts, e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
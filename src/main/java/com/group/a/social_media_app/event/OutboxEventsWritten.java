@@ -0,0 +1,8 @@
+package com.group.a.social_media_app.event;
+
+/**
+ * Published in the writing transaction; once it commits, the dispatcher is nudged to deliver
+ * instead of waiting for its next poll.
+ */
+public record OutboxEventsWritten(int count) {
+}
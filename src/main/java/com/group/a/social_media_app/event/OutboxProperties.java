@@ -0,0 +1,38 @@
+package com.group.a.social_media_app.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    // Drain after every commit and on the poll interval; off means only explicit drain() calls
+    private boolean autoDispatch = true;
+
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    // Events read and delivered per batch
+    private int batchSize = 200;
+
+    /*
+     * How far behind the newest event each scan starts again. Rows are stamped just before
+     * commit (see PostEventPublisher), so an event can still become visible after newer ones
+     * by the length of a final flush and commit; this covers that and clock skew between nodes.
+     */
+    private Duration commitGrace = Duration.ofMinutes(1);
+
+    // Deliveries before a node gives up on an event
+    private int maxAttempts = 10;
+
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    // Rows older than this are deleted; must outlast the commit grace and every retry
+    private Duration retention = Duration.ofHours(1);
+
+    private Duration pruneInterval = Duration.ofMinutes(10);
+}
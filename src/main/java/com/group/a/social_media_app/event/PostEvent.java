@@ -0,0 +1,44 @@
+package com.group.a.social_media_app.event;
+
+/**
+ * Something that happened to a post, delivered to {@link PostEventConsumer}s after the
+ * writing transaction commits. Events only identify the post; consumers read its current
+ * state, so a late or repeated delivery never applies stale content.
+ */
+public sealed interface PostEvent {
+
+    long postId();
+
+    long authorId();
+
+    PostEventType type();
+
+    static PostEvent of(PostEventType type, long postId, long authorId) {
+        return switch (type) {
+            case CREATED -> new PostCreated(postId, authorId);
+            case UPDATED -> new PostUpdated(postId, authorId);
+            case DELETED -> new PostDeleted(postId, authorId);
+        };
+    }
+
+    record PostCreated(long postId, long authorId) implements PostEvent {
+        @Override
+        public PostEventType type() {
+            return PostEventType.CREATED;
+        }
+    }
+
+    record PostUpdated(long postId, long authorId) implements PostEvent {
+        @Override
+        public PostEventType type() {
+            return PostEventType.UPDATED;
+        }
+    }
+
+    record PostDeleted(long postId, long authorId) implements PostEvent {
+        @Override
+        public PostEventType type() {
+            return PostEventType.DELETED;
+        }
+    }
+}
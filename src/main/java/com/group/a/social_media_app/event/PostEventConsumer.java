@@ -0,0 +1,13 @@
+package com.group.a.social_media_app.event;
+
+import java.util.List;
+
+/**
+ * Receives post events in batches, roughly in outbox order. Every node delivers every event to
+ * its own consumers, so they may keep node-local state. Delivery is at-least-once: a batch
+ * that throws is retried with backoff, so implementations must be idempotent.
+ */
+public interface PostEventConsumer {
+
+    void onPostEvents(List<PostEvent> events);
+}
@@ -0,0 +1,69 @@
+package com.group.a.social_media_app.event;
+
+import com.group.a.social_media_app.entity.OutboxEvent;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records post events in the outbox. Must join the transaction that changed the post, so the
+ * event exists if and only if the change committed.
+ * <p>
+ * Events are buffered and inserted just before the transaction commits, stamped with that
+ * time. {@code created_at} then trails the commit by the final flush rather than by the whole
+ * transaction, however long it ran, which is what {@link OutboxDispatcher}'s commit grace
+ * window relies on.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostEventPublisher {
+
+    // Binds this transaction's buffered events
+    private final Object pendingKey = new Object();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(PostEvent event) {
+        publishAll(List.of(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<? extends PostEvent> events) {
+        if (events.isEmpty()) return;
+        pendingEvents().addAll(events);
+        applicationEventPublisher.publishEvent(new OutboxEventsWritten(events.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PostEvent> pendingEvents() {
+        List<PostEvent> pending = (List<PostEvent>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending != null) return pending;
+
+        List<PostEvent> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(pendingKey, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                LocalDateTime now = LocalDateTime.now();
+                outboxEventRepository.saveAll(events.stream().map(event -> OutboxEvent.of(event, now)).toList());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+            }
+        });
+        return events;
+    }
+}
@@ -0,0 +1,5 @@
+package com.group.a.social_media_app.event;
+
+public enum PostEventType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,11 @@
+package com.group.a.social_media_app.exception;
+
+/**
+ * Thrown for a paging cursor the server did not issue or can no longer read; surfaces as a 400
+ * rather than silently restarting from the first page.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
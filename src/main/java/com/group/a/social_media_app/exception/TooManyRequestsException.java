@@ -0,0 +1,25 @@
+package com.group.a.social_media_app.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the server sheds load instead of queueing more work; surfaces as a 429 with
+ * {@code Retry-After}.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,42 @@
+package com.group.a.social_media_app.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Limits credential checks per client address under {@link RateLimiter#LOGIN}, before any
+ * password is hashed. Behind the load balancer the address is the forwarded client's, as
+ * resolved by Tomcat's RemoteIpValve ({@code server.forward-headers-strategy=native}). Sits behind {@link com.group.a.social_media_app.config.TooManyRequestsFilter},
+ * which turns the rejection into a 429.
+ */
+@RequiredArgsConstructor
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher SIGN_IN = new OrRequestMatcher(
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/login"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/auth/token"));
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !SIGN_IN.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        rateLimiter.acquire(RateLimiter.LOGIN, request.getRemoteAddr());
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,50 @@
+package com.group.a.social_media_app.ratelimit;
+
+import com.group.a.social_media_app.service.CustomUserDetailsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies {@link RateLimited} before the handler runs; the resulting 429 is rendered by the
+ * controller advice like any other {@link com.group.a.social_media_app.exception.TooManyRequestsException}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String UNLIMITED = "";
+
+    private final RateLimiter rateLimiter;
+
+    // Limit name per handler method, so the annotation is looked up once rather than per request
+    private final Map<Method, String> limitNames = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) return true;
+        String limit = limitNames.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+            return rateLimited != null ? rateLimited.value() : UNLIMITED;
+        });
+        if (limit.isEmpty()) return true;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserPrincipal principal) {
+            rateLimiter.acquire(limit, principal.getSnapshot().getId());
+        } else {
+            rateLimiter.acquire(limit, request.getRemoteAddr());
+        }
+        return true;
+    }
+}
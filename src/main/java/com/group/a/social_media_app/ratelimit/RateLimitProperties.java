@@ -0,0 +1,30 @@
+package com.group.a.social_media_app.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Keyed by limit name (see RateLimiter); endpoints whose limit is not listed are unlimited
+    private Map<String, Limit> limits = new LinkedHashMap<>();
+
+    @Data
+    public static class Limit {
+
+        // Requests allowed in a burst; the bucket refills evenly over the period
+        private int capacity = 10;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        // Buckets kept at once; beyond this the one idle the longest is reused
+        private int maxKeys = 65_536;
+    }
+}
@@ -0,0 +1,19 @@
+package com.group.a.social_media_app.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Charges each call of the annotated handler method to the named {@link RateLimiter} limit,
+ * keyed by the authenticated user. Enforced by {@link RateLimitInterceptor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+    String value();
+}
@@ -0,0 +1,102 @@
+package com.group.a.social_media_app.ratelimit;
+
+import com.group.a.social_media_app.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Named per-key request limits. Each limit is a {@link TokenBucketTable}; its name selects the
+ * {@code app.rate-limit.limits.<name>} settings. Counts every decision as
+ * {@code app.rate-limit.requests{limit, outcome}} and buckets dropped before they were full as
+ * {@code app.rate-limit.evictions{limit}}.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    public static final String POST_CREATE = "post-create";
+    public static final String LOGIN = "login";
+    public static final String POST_IMPORT = "post-import";
+
+    private record Limit(TokenBucketTable buckets, Duration period, Counter allowed, Counter throttled) {
+    }
+
+    private final Map<String, Limit> limits;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        Map<String, Limit> limits = new HashMap<>();
+        if (properties.isEnabled()) {
+            properties.getLimits().forEach((name, settings) -> {
+                TokenBucketTable buckets = new TokenBucketTable(settings.getCapacity(), settings.getPeriod(),
+                        settings.getMaxKeys(), System::nanoTime);
+                FunctionCounter.builder("app.rate-limit.evictions", buckets, TokenBucketTable::evictions)
+                        .description("Rate-limit buckets reused for another key before they were full")
+                        .tag("limit", name)
+                        .register(meterRegistry);
+                limits.put(name, new Limit(buckets, settings.getPeriod(),
+                        requests(meterRegistry, name, "allowed"),
+                        requests(meterRegistry, name, "throttled")));
+                log.info("Rate limit {}: {} requests per {}", name, settings.getCapacity(), settings.getPeriod());
+            });
+        }
+        this.limits = Map.copyOf(limits);
+    }
+
+    /**
+     * Takes one request from {@code key}'s allowance under the named limit, or throws a
+     * {@link TooManyRequestsException} carrying the wait until the next one. Unknown limits
+     * always pass.
+     */
+    public void acquire(String name, long key) {
+        acquire(name, key, 1);
+    }
+
+    /**
+     * Takes {@code permits} at once, for requests that do the work of many, such as a bulk
+     * import charged per item. A batch larger than the limit's capacity is always refused.
+     */
+    public void acquire(String name, long key, int permits) {
+        Limit limit = limits.get(name);
+        if (limit == null || permits <= 0) return;
+        long wait = limit.buckets().tryAcquire(key, permits);
+        if (wait == 0) {
+            limit.allowed().increment();
+            return;
+        }
+        limit.throttled().increment();
+        if (wait == Long.MAX_VALUE) {
+            throw new TooManyRequestsException("Too many items in one request", limit.period());
+        }
+        throw new TooManyRequestsException("Too many requests, please slow down", Duration.ofNanos(wait));
+    }
+
+    // For keys without a user id, such as client addresses before sign-in
+    public void acquire(String name, CharSequence key) {
+        acquire(name, hash(key));
+    }
+
+    // 64-bit FNV-1a over the chars; collisions only merge two callers' allowances
+    static long hash(CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String limit, String outcome) {
+        return Counter.builder("app.rate-limit.requests")
+                .description("Requests checked against a rate limit")
+                .tag("limit", limit)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
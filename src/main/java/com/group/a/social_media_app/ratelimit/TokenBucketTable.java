@@ -0,0 +1,120 @@
+package com.group.a.social_media_app.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for a fixed number of keys, lock-free and allocation-free per call.
+ *
+ * <p>Each bucket is a single long, its theoretical arrival time (GCRA): the instant at which
+ * the bucket would be full again. Taking a token pushes it one refill interval further, and a
+ * request is refused while it lies more than one period ahead. A bucket whose time has passed
+ * is full and carries no state, so its slot can be handed to another key at any moment.
+ *
+ * <p>Keys hash to a stripe of {@value #STRIPE_SLOTS} adjacent slots and live only there. A new
+ * key takes an empty slot of its stripe, else the slot whose bucket has been full the longest.
+ * Two threads racing to add the same key may give it two slots for a moment, and a token may
+ * be charged to a slot just handed over; either errs by at most one burst and avoids any locking.
+ */
+final class TokenBucketTable {
+
+    static final int STRIPE_SLOTS = 8;
+
+    private static final long EMPTY = 0;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray arrivals;
+    private final int stripeMask;
+    private final int capacity;
+    private final long interval;
+    private final long period;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final LongAdder evictions = new LongAdder();
+
+    TokenBucketTable(int capacity, Duration period, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        int stripes = Integer.highestOneBit(Math.max(1, (maxKeys + STRIPE_SLOTS - 1) / STRIPE_SLOTS) * 2 - 1);
+        this.keys = new AtomicLongArray(stripes * STRIPE_SLOTS);
+        this.arrivals = new AtomicLongArray(stripes * STRIPE_SLOTS);
+        this.stripeMask = stripes - 1;
+        this.capacity = capacity;
+        this.period = period.toNanos();
+        this.interval = Math.max(1, this.period / capacity);
+        this.nanoClock = nanoClock;
+        // Keeps "now" positive, so a zeroed slot reads as a full bucket
+        this.origin = nanoClock.getAsLong() - 1;
+    }
+
+    long tryAcquire(long key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * Takes {@code permits} tokens from {@code key}'s bucket at once. Returns 0 on success,
+     * otherwise the nanoseconds until that many are available, or {@link Long#MAX_VALUE} if
+     * they never will be (more than the capacity); a refused request takes nothing.
+     */
+    long tryAcquire(long key, int permits) {
+        if (permits > capacity) return Long.MAX_VALUE;
+        long now = nanoClock.getAsLong() - origin;
+        int slot = slotFor(key == EMPTY ? 1 : key, now);
+        while (true) {
+            long arrival = arrivals.get(slot);
+            long next = Math.max(arrival, now) + interval * permits;
+            long wait = next - period - now;
+            if (wait > 0) return wait;
+            if (arrivals.compareAndSet(slot, arrival, next)) return 0;
+        }
+    }
+
+    // Buckets given up while not yet full; a steady rate means max-keys is too small
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private int slotFor(long key, long now) {
+        int first = (int) (mix(key) & stripeMask) * STRIPE_SLOTS;
+        int end = first + STRIPE_SLOTS;
+        for (int i = first; i < end; i++) {
+            if (keys.get(i) == key) return i;
+        }
+        while (true) {
+            int victim = -1;
+            long victimKey = EMPTY;
+            long oldest = Long.MAX_VALUE;
+            for (int i = first; i < end; i++) {
+                long current = keys.get(i);
+                if (current == EMPTY) {
+                    if (keys.compareAndSet(i, EMPTY, key)) return i;
+                    continue;
+                }
+                long arrival = arrivals.get(i);
+                if (arrival < oldest) {
+                    oldest = arrival;
+                    victim = i;
+                    victimKey = current;
+                }
+            }
+            if (victim >= 0 && keys.compareAndSet(victim, victimKey, key)) {
+                if (oldest > now) {
+                    evictions.increment();
+                    arrivals.compareAndSet(victim, oldest, EMPTY);
+                }
+                return victim;
+            }
+        }
+    }
+
+    // Murmur3 finalizer: spreads sequential user ids over the stripes
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
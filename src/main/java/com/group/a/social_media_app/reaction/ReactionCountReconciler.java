@@ -0,0 +1,82 @@
+package com.group.a.social_media_app.reaction;
+
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.repository.PostReactionCountRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Recounts {@code post_reaction_counts} from the {@code reactions} rows, one post id range at a
+ * time, each range in its own short transaction. This repairs the deltas a node lost by
+ * stopping before {@link ReactionCounter} flushed them.
+ *
+ * <p>Posts with a reaction newer than the settle window are left alone, since their deltas may
+ * still be pending and would be counted twice. Withdrawn reactions leave no row to date, so
+ * one withdrawn on another node just before a recount can leave its post one short until the
+ * next run.
+ */
+@Component
+@Slf4j
+public class ReactionCountReconciler {
+
+    private final PostRepository postRepository;
+    private final PostReactionCountRepository postReactionCountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final int batchSize;
+    private final Duration settle;
+
+    public ReactionCountReconciler(PostRepository postRepository,
+                                   PostReactionCountRepository postReactionCountRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   CacheManager cacheManager,
+                                   @Value("${app.reactions.reconcile-batch-size:1000}") int batchSize,
+                                   @Value("${app.reactions.reconcile-settle:PT1M}") Duration settle) {
+        this.postRepository = postRepository;
+        this.postReactionCountRepository = postReactionCountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+        this.settle = settle;
+    }
+
+    @Scheduled(initialDelayString = "${app.reactions.reconcile-initial-delay:PT1M}",
+            fixedDelayString = "${app.reactions.reconcile-interval:PT6H}")
+    public void reconcile() {
+        Long maxId = postRepository.findMaxId();
+        if (maxId == null) return;
+
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settle);
+        int created = 0;
+        int repaired = 0;
+        for (long fromId = 0; fromId <= maxId; fromId += batchSize) {
+            long from = fromId;
+            long to = fromId + batchSize;
+            int[] counts = transactionTemplate.execute(status -> {
+                postReactionCountRepository.lockRange(from, to);
+                return new int[]{
+                        postReactionCountRepository.insertMissing(from, to, settledBefore),
+                        postReactionCountRepository.repairCounts(from, to, settledBefore)
+                };
+            });
+            created += counts[0];
+            repaired += counts[1];
+        }
+
+        if (created > 0 || repaired > 0) {
+            Cache reactionCounts = cacheManager.getCache(CacheConfig.REACTION_COUNTS);
+            if (reactionCounts != null) reactionCounts.clear();
+            log.info("Reaction count reconciliation created {} and repaired {} post_reaction_counts rows", created, repaired);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.group.a.social_media_app.reaction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.dto.ReactionCountRow;
+import com.group.a.social_media_app.entity.ReactionType;
+import com.group.a.social_media_app.repository.PostReactionCountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reaction totals per post, counted in memory and written to {@code post_reaction_counts} in
+ * batches. A reaction only adds to a {@link LongAdder}, so a viral post never serializes its
+ * readers and writers on one row lock; {@link #flush()} turns everything that arrived since
+ * the last run into one relative UPDATE per post and type, in a single transaction.
+ *
+ * <p>Reads add the unflushed deltas to the flushed totals, which are cached in
+ * {@link CacheConfig#REACTION_COUNTS} and loaded in one query per page on a miss. The cache
+ * expires, so totals flushed by other nodes show up within its {@code expireAfterWrite}.
+ * A flush moves each drained delta from the pending map into the cached totals in one step
+ * that reads never see half done, and holds off cache loads until its transaction has
+ * committed: a load either precedes the drain or sees the written rows, so it neither
+ * misses a delta nor counts one twice.
+ *
+ * <p>Posts without new reactions for a whole flush interval leave the pending map. The flusher
+ * marks the entry retired before removing it and drains it once more afterwards; a writer that
+ * finds its entry retired takes back what it added and retries on a fresh one, so every delta
+ * is flushed exactly once without locking.
+ *
+ * <p>Deltas still pending when a node dies are lost; {@link ReactionCountReconciler} recounts
+ * them from the reaction rows.
+ */
+@Component
+@Slf4j
+public class ReactionCounter {
+
+    private static final ReactionType[] TYPES = ReactionType.values();
+
+    private static final String UPDATE_SQL =
+            "update post_reaction_counts set reaction_count = reaction_count + ? where post_id = ? and reaction_type = ?";
+    private static final String INSERT_SQL =
+            "insert into post_reaction_counts (post_id, reaction_type, reaction_count) values (?, ?, ?)";
+
+    private static final class PendingCounts {
+        final LongAdder[] adders = new LongAdder[TYPES.length];
+        volatile boolean retired;
+
+        PendingCounts() {
+            for (int i = 0; i < adders.length; i++) adders[i] = new LongAdder();
+        }
+
+        long[] drain() {
+            long[] deltas = new long[adders.length];
+            for (int i = 0; i < adders.length; i++) deltas[i] = adders[i].sumThenReset();
+            return deltas;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, PendingCounts> pending = new ConcurrentHashMap<>();
+    // Write: draining pending into the cached totals. Read: summing cached totals and pending
+    private final ReadWriteLock drainLock = new ReentrantReadWriteLock();
+    // Write: a flush from its drain until its transaction ends. Read: loading totals from the table
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private final LongAdder version = new LongAdder();
+    private final PostReactionCountRepository postReactionCountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final Counter flushedRows;
+    private final Counter failedFlushes;
+
+    public ReactionCounter(PostReactionCountRepository postReactionCountRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry) {
+        this.postReactionCountRepository = postReactionCountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.flushedRows = meterRegistry.counter("app.reactions.flushed.rows");
+        this.failedFlushes = meterRegistry.counter("app.reactions.flush.failures");
+        meterRegistry.gaugeMapSize("app.reactions.pending.posts", List.of(), pending);
+    }
+
+    public void add(Long postId, ReactionType type, long delta) {
+        int index = type.ordinal();
+        while (delta != 0) {
+            PendingCounts counts = pending.computeIfAbsent(postId, id -> new PendingCounts());
+            counts.adders[index].add(delta);
+            if (!counts.retired) break;
+            // The flusher dropped this entry; whatever it has not drained yet is ours to re-add
+            delta = counts.adders[index].sumThenReset();
+        }
+        version.increment();
+    }
+
+    /**
+     * Totals per type for each of {@code postIds}, flushed and unflushed alike. Posts nobody
+     * reacted to map to an empty map.
+     */
+    public Map<Long, Map<ReactionType, Long>> counts(Collection<Long> postIds) {
+        Map<Long, long[]> cached = totals().asMap();
+        Map<Long, Map<ReactionType, Long>> result = new HashMap<>();
+        boolean complete = false;
+        while (!complete) {
+            cacheMissing(postIds, cached);
+            complete = true;
+            drainLock.readLock().lock();
+            try {
+                for (Long postId : postIds) {
+                    long[] flushed = cached.get(postId);
+                    if (flushed == null) {
+                        // Evicted since it was loaded; load it again on the next pass
+                        complete = false;
+                        continue;
+                    }
+                    long[] totals = flushed.clone();
+                    PendingCounts counts = pending.get(postId);
+                    if (counts != null) {
+                        for (int i = 0; i < totals.length; i++) totals[i] += counts.adders[i].sum();
+                    }
+                    result.put(postId, byType(totals));
+                }
+            } finally {
+                drainLock.readLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    private void cacheMissing(Collection<Long> postIds, Map<Long, long[]> cached) {
+        List<Long> missing = postIds.stream().filter(postId -> !cached.containsKey(postId)).toList();
+        if (missing.isEmpty()) return;
+        loadLock.readLock().lock();
+        try {
+            load(missing).forEach(cached::putIfAbsent);
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    private static Map<ReactionType, Long> byType(long[] totals) {
+        Map<ReactionType, Long> byType = new EnumMap<>(ReactionType.class);
+        for (int i = 0; i < totals.length; i++) {
+            if (totals[i] > 0) byType.put(TYPES[i], totals[i]);
+        }
+        return byType;
+    }
+
+    // Bumped by every reaction on this node; part of the home page ETag
+    public long version() {
+        return version.sum();
+    }
+
+    // Drops state for deleted posts; their rows are removed by the caller
+    public void forget(Collection<Long> postIds) {
+        postIds.forEach(pending::remove);
+        totals().invalidateAll(postIds);
+        version.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reactions.flush-interval:PT2S}")
+    public void flush() {
+        Map<Long, long[]> cached = totals().asMap();
+        Map<Long, long[]> deltas = new HashMap<>();
+        loadLock.writeLock().lock();
+        try {
+            drainLock.writeLock().lock();
+            try {
+                pending.forEach((postId, counts) -> {
+                    long[] drained = counts.drain();
+                    if (isZero(drained)) {
+                        counts.retired = true;
+                        pending.remove(postId, counts);
+                        drained = counts.drain();
+                        if (isZero(drained)) return;
+                    }
+                    deltas.put(postId, drained);
+                    addTo(cached, postId, drained);
+                });
+            } finally {
+                drainLock.writeLock().unlock();
+            }
+            if (deltas.isEmpty()) return;
+
+            try {
+                int rows = transactionTemplate.execute(status -> write(deltas));
+                flushedRows.increment(rows);
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                log.warn("Flushing reaction counts for {} posts failed; retrying on the next run", deltas.size(), e);
+                // Back to pending; the cached totals are reloaded from the rolled-back table
+                drainLock.writeLock().lock();
+                try {
+                    cached.keySet().removeAll(deltas.keySet());
+                    deltas.forEach((postId, drained) -> {
+                        for (int i = 0; i < drained.length; i++) add(postId, TYPES[i], drained[i]);
+                    });
+                } finally {
+                    drainLock.writeLock().unlock();
+                }
+            }
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /*
+     * Relative updates first, then inserts for the pairs that had no row yet. PostgreSQL's
+     * ON CONFLICT DO UPDATE would do both at once, but H2, which the tests run on, lacks it; an
+     * insert racing another node fails the batch, and the retry finds the row to update.
+     */
+    private int write(Map<Long, long[]> deltas) {
+        List<Object[]> updates = new ArrayList<>();
+        deltas.forEach((postId, drained) -> {
+            for (int i = 0; i < drained.length; i++) {
+                if (drained[i] != 0) updates.add(new Object[]{drained[i], postId, TYPES[i].name()});
+            }
+        });
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] update = updates.get(i);
+                inserts.add(new Object[]{update[1], update[2], update[0]});
+            }
+        }
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        return updates.size();
+    }
+
+    private Map<Long, long[]> load(List<Long> ids) {
+        Map<Long, long[]> totals = new HashMap<>();
+        ids.forEach(id -> totals.put(id, new long[TYPES.length]));
+        for (ReactionCountRow row : postReactionCountRepository.findRowsByPostIds(ids)) {
+            totals.get(row.postId())[row.type().ordinal()] = row.count();
+        }
+        return totals;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Long, long[]> totals() {
+        return (Cache<Long, long[]>) cacheManager.getCache(CacheConfig.REACTION_COUNTS).getNativeCache();
+    }
+
+    private static void addTo(Map<Long, long[]> cached, Long postId, long[] deltas) {
+        cached.computeIfPresent(postId, (id, totals) -> {
+            long[] updated = totals.clone();
+            for (int i = 0; i < updated.length; i++) updated[i] += deltas[i];
+            return updated;
+        });
+    }
+
+    private static boolean isZero(long[] deltas) {
+        for (long delta : deltas) {
+            if (delta != 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,100 @@
+package com.group.a.social_media_app.reaction;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.dto.ReactionRef;
+import com.group.a.social_media_app.entity.ReactionType;
+import com.group.a.social_media_app.repository.PostReactionCountRepository;
+import com.group.a.social_media_app.repository.ReactionRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactions to posts. The reaction rows record who reacted how; the totals shown with posts
+ * come from {@link ReactionCounter}, which is only told about a change once it has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("app.service")
+public class ReactionService {
+
+    private final ReactionRepository reactionRepository;
+    private final PostReactionCountRepository postReactionCountRepository;
+    private final ReactionCounter reactionCounter;
+
+    /**
+     * Adds the user's reaction of this type to the post, or takes it back if it was already
+     * there. Returns whether the reaction is now present.
+     */
+    @Transactional
+    public boolean toggle(Long postId, Long userId, ReactionType type) {
+        if (reactionRepository.deleteByPostIdAndUserIdAndType(postId, userId, type) > 0) {
+            afterCommit(() -> reactionCounter.add(postId, type, -1));
+            return false;
+        }
+        // A concurrent double submit may have inserted it first; only one of them counts
+        if (reactionRepository.insertIfAbsent(postId, userId, type.name(), LocalDateTime.now()) > 0) {
+            afterCommit(() -> reactionCounter.add(postId, type, 1));
+        }
+        return true;
+    }
+
+    // Counts are attached here rather than in PostService, so feed queries stay one statement
+    public List<PostDTO> withCounts(List<PostDTO> posts) {
+        if (posts.isEmpty()) return posts;
+        Map<Long, Map<ReactionType, Long>> counts = reactionCounter.counts(posts.stream().map(PostDTO::getId).toList());
+        posts.forEach(post -> post.setReactions(counts.get(post.getId())));
+        return posts;
+    }
+
+    public PostDTO withCounts(PostDTO post) {
+        post.setReactions(reactionCounter.counts(List.of(post.getId())).get(post.getId()));
+        return post;
+    }
+
+    public long version() {
+        return reactionCounter.version();
+    }
+
+    // Runs in the caller's transaction, before the posts themselves are deleted
+    @Transactional
+    public void onPostsDeleted(Collection<Long> postIds) {
+        if (postIds.isEmpty()) return;
+        reactionRepository.deleteByPostIds(postIds);
+        postReactionCountRepository.deleteByPostIds(postIds);
+        afterCommit(() -> reactionCounter.forget(postIds));
+    }
+
+    /**
+     * Removes up to {@code limit} of the user's reactions and takes them off the posts' totals.
+     * Returns how many were removed; the account purge calls it until that is less than the limit.
+     */
+    @Transactional
+    public int removeReactionsByUser(Long userId, int limit) {
+        List<ReactionRef> chunk = reactionRepository.findRefsByUserId(userId, Limit.of(limit));
+        if (chunk.isEmpty()) return 0;
+        reactionRepository.deleteByIds(chunk.stream().map(ReactionRef::id).toList());
+        afterCommit(() -> chunk.forEach(ref -> reactionCounter.add(ref.postId(), ref.type(), -1)));
+        return chunk.size();
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.group.a.social_media_app.repository;
+
+import com.group.a.social_media_app.entity.Follow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+
+    boolean existsByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
+
+    long countByFolloweeId(Long followeeId);
+
+    @Modifying
+    @Query("delete from Follow f where f.follower.id = :followerId and f.followee.id = :followeeId")
+    int deleteByFollowerIdAndFolloweeId(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+
+    @Query("select f.follower.id from Follow f where f.followee.id = :followeeId")
+    List<Long> findFollowerIds(@Param("followeeId") Long followeeId);
+
+    @Query("select f.followee.id from Follow f where f.follower.id = :followerId")
+    List<Long> findFolloweeIds(@Param("followerId") Long followerId);
+
+    @Query("select f.followee.id from Follow f where f.follower.id = :followerId and f.followee.id in :candidateIds")
+    List<Long> findFolloweeIdsIn(@Param("followerId") Long followerId, @Param("candidateIds") Collection<Long> candidateIds);
+
+    @Query("select f.followee.id from Follow f group by f.followee.id having count(f) >= :minFollowers")
+    List<Long> findFolloweeIdsWithAtLeast(@Param("minFollowers") long minFollowers);
+
+    // Account purge, one chunk at a time; each side has its own index
+
+    @Query("select f.id from Follow f where f.follower.id = :userId")
+    List<Long> findIdsByFollowerId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select f.id from Follow f where f.followee.id = :userId")
+    List<Long> findIdsByFolloweeId(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from Follow f where f.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,26 @@
+package com.group.a.social_media_app.repository;
+
+import com.group.a.social_media_app.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // A node's scan, one page at a time along idx_outbox_events_created
+    @Query("""
+            select e from OutboxEvent e
+            where (e.createdAt, e.id) > (:createdAt, :id)
+            order by e.createdAt, e.id
+            """)
+    List<OutboxEvent> findAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,66 @@
+package com.group.a.social_media_app.repository;
+
+import com.group.a.social_media_app.dto.ReactionCountRow;
+import com.group.a.social_media_app.entity.PostReactionCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PostReactionCountRepository extends JpaRepository<PostReactionCount, PostReactionCount.Key> {
+
+    @Query("""
+            select new com.group.a.social_media_app.dto.ReactionCountRow(c.id.postId, c.id.type, c.count)
+            from PostReactionCount c
+            where c.id.postId in :postIds
+            """)
+    List<ReactionCountRow> findRowsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("delete from PostReactionCount c where c.id.postId in :postIds")
+    int deleteByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Reconciliation, one post id range at a time. Posts reacted to after :settledBefore are
+    // skipped: their deltas may still be pending on some node and would be counted twice
+
+    @Query(value = """
+            select c.post_id from post_reaction_counts c
+            where c.post_id >= :fromId and c.post_id < :toId
+            for update
+            """, nativeQuery = true)
+    List<Long> lockRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = """
+            insert into post_reaction_counts (post_id, reaction_type, reaction_count)
+            select r.post_id, r.reaction_type, count(*) from reactions r
+            where r.post_id >= :fromId and r.post_id < :toId
+              and not exists (select 1 from post_reaction_counts c
+                              where c.post_id = r.post_id and c.reaction_type = r.reaction_type)
+              and not exists (select 1 from reactions recent
+                              where recent.post_id = r.post_id and recent.created_at > :settledBefore)
+            group by r.post_id, r.reaction_type
+            """, nativeQuery = true)
+    int insertMissing(@Param("fromId") long fromId,
+                      @Param("toId") long toId,
+                      @Param("settledBefore") LocalDateTime settledBefore);
+
+    @Modifying
+    @Query(value = """
+            update post_reaction_counts c
+            set reaction_count = (select count(*) from reactions r
+                                  where r.post_id = c.post_id and r.reaction_type = c.reaction_type)
+            where c.post_id >= :fromId and c.post_id < :toId
+              and c.reaction_count <> (select count(*) from reactions r
+                                       where r.post_id = c.post_id and r.reaction_type = c.reaction_type)
+              and not exists (select 1 from reactions recent
+                              where recent.post_id = c.post_id and recent.created_at > :settledBefore)
+            """, nativeQuery = true)
+    int repairCounts(@Param("fromId") long fromId,
+                     @Param("toId") long toId,
+                     @Param("settledBefore") LocalDateTime settledBefore);
+}
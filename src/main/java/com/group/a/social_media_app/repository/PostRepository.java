@@ -1,20 +1,154 @@
 package com.group.a.social_media_app.repository;
 
+import com.group.a.social_media_app.dto.PostAuthorRef;
+import com.group.a.social_media_app.dto.PostContentRow;
+import com.group.a.social_media_app.dto.PostFeedRow;
 import com.group.a.social_media_app.entity.Post;
 import com.group.a.social_media_app.entity.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
     List<Post> findByUser(User user); // Get all posts authored by a specific user
 
-    Page<Post> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
-
     long countByUser(User user);
 
-    List<Post> findByUserOrderByCreatedAtDesc(User user);
+    // Backs the home page's Last-Modified/ETag; served from idx_posts_user_updated
+    @Query("select max(p.updatedAt) from Post p where p.user.id = :userId")
+    Optional<LocalDateTime> findLastUpdatedAtByUserId(@Param("userId") Long userId);
+
+    // Forward-only cursor for exports: rows arrive fetch-size at a time, never as one list.
+    // Read-only entities skip the dirty-checking snapshot; callers must close the stream.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from Post p where p.user.id = :userId order by p.id")
+    Stream<Post> streamByUserId(@Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Post> findWithUserById(Long id);
+
+    // Feed rows: one JOIN query per page, author name included, no entities to initialize
+
+    // First page of a user's feed, served by idx_posts_user_created_id
+    @Query("""
+            select new com.group.a.social_media_app.dto.PostFeedRow(p.id, p.content, p.createdAt, concat(u.firstName, ' ', u.lastName))
+            from Post p join p.user u
+            where u.id = :userId
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostFeedRow> findFeedRowsByUserId(@Param("userId") Long userId, Limit limit);
+
+    // Next page strictly after the cursor; row-value comparison keeps it an index range scan
+    @Query("""
+            select new com.group.a.social_media_app.dto.PostFeedRow(p.id, p.content, p.createdAt, concat(u.firstName, ' ', u.lastName))
+            from Post p join p.user u
+            where u.id = :userId and (p.createdAt, p.id) < (:createdAt, :id)
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostFeedRow> findFeedRowsByUserIdAfter(@Param("userId") Long userId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query("""
+            select new com.group.a.social_media_app.dto.PostFeedRow(p.id, p.content, p.createdAt, concat(u.firstName, ' ', u.lastName))
+            from Post p join p.user u
+            where p.id in :ids
+            """)
+    List<PostFeedRow> findFeedRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Timeline pulls: newest post ids of a set of authors, served by idx_posts_user_id
+    @Query("select p.id from Post p where p.user.id in :userIds order by p.id desc")
+    List<Long> findIdsByUserIds(@Param("userIds") Collection<Long> userIds, Limit limit);
+
+    @Query("select p.id from Post p where p.user.id in :userIds and p.id < :beforeId order by p.id desc")
+    List<Long> findIdsByUserIdsBefore(@Param("userIds") Collection<Long> userIds,
+                                      @Param("beforeId") Long beforeId,
+                                      Limit limit);
+
+    // Account purge: the author's posts one chunk at a time, newest first along idx_posts_user_id
+    @Query("select p.id from Post p where p.user.id = :userId order by p.id desc")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from Post p where p.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.group.a.social_media_app.dto.PostAuthorRef(p.id, p.user.id) from Post p order by p.id desc")
+    List<PostAuthorRef> findRecentAuthorRefs(Limit limit);
+
+    @Query("select p from Post p where p.id > :afterId order by p.id")
+    List<Post> findByIdGreaterThanOrderByIdAsc(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            select new com.group.a.social_media_app.dto.PostContentRow(p.id, p.content, p.createdAt, p.updatedAt)
+            from Post p
+            where p.id in :ids
+            """)
+    List<PostContentRow> findContentRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Newest first by primary key, for replaying recent posts without an index on created_at
+    @Query("""
+            select new com.group.a.social_media_app.dto.PostContentRow(p.id, p.content, p.createdAt, p.updatedAt)
+            from Post p
+            where p.id < :beforeId
+            order by p.id desc
+            """)
+    List<PostContentRow> findContentRowsBefore(@Param("beforeId") Long beforeId, Limit limit);
+
+    @Query("select max(p.id) from Post p")
+    Long findMaxId();
+
+    // Ids for imports: a block of posts_seq values in one round trip, assigned before persist
+    @Query(value = "select nextval('posts_seq') from generate_series(1, :count)", nativeQuery = true)
+    List<Long> nextIds(@Param("count") int count);
+
+    // Full-text search over the generated content_tsv column (PostgreSQL only, see schema-postgresql.sql)
+
+    interface SearchHitView {
+        Long getId();
+
+        Float getRank();
+    }
+
+    @Query(value = """
+            select p.id as id, ts_rank(p.content_tsv, q) as rank
+            from posts p, websearch_to_tsquery('english', :query) q
+            where p.content_tsv @@ q
+            order by rank desc, p.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<SearchHitView> searchContent(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = """
+            select hits.id as id, hits.rank as rank from (
+                select p.id as id, ts_rank(p.content_tsv, q) as rank
+                from posts p, websearch_to_tsquery('english', :query) q
+                where p.content_tsv @@ q
+            ) hits
+            where (hits.rank, hits.id) < (:rank, :id)
+            order by hits.rank desc, hits.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<SearchHitView> searchContentAfter(@Param("query") String query,
+                                           @Param("rank") float rank,
+                                           @Param("id") long id,
+                                           @Param("limit") int limit);
 }
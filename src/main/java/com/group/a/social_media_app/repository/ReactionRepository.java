@@ -0,0 +1,47 @@
+package com.group.a.social_media_app.repository;
+
+import com.group.a.social_media_app.dto.ReactionRef;
+import com.group.a.social_media_app.entity.Reaction;
+import com.group.a.social_media_app.entity.ReactionType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReactionRepository extends JpaRepository<Reaction, Long> {
+
+    // Returns 0 instead of failing when the user already reacted this way (uk_reactions_post_user_type)
+    @Modifying
+    @Query(value = """
+            insert into reactions (post_id, user_id, reaction_type, created_at)
+            values (:postId, :userId, :type, :createdAt)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId,
+                       @Param("userId") Long userId,
+                       @Param("type") String type,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("delete from Reaction r where r.post.id = :postId and r.user.id = :userId and r.type = :type")
+    int deleteByPostIdAndUserIdAndType(@Param("postId") Long postId,
+                                       @Param("userId") Long userId,
+                                       @Param("type") ReactionType type);
+
+    @Modifying
+    @Query("delete from Reaction r where r.post.id in :postIds")
+    int deleteByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Account purge: reactions the user left on any post, one chunk at a time from idx_reactions_user
+    @Query("select new com.group.a.social_media_app.dto.ReactionRef(r.id, r.post.id, r.type) from Reaction r where r.user.id = :userId")
+    List<ReactionRef> findRefsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from Reaction r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
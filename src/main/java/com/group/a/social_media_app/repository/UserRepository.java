@@ -1,8 +1,15 @@
 package com.group.a.social_media_app.repository;
 
+import com.group.a.social_media_app.dto.UserEmailRef;
 import com.group.a.social_media_app.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,6 +18,39 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    @Query("select new com.group.a.social_media_app.dto.UserEmailRef(u.id, u.email) from User u where u.id > :afterId order by u.id")
+    List<UserEmailRef> findEmailsAfter(@Param("afterId") Long afterId, Limit limit);
+
     Optional<User> findByEmailAndIsActive(String email, Boolean isActive);
 
+    @Query("select max(u.id) from User u")
+    Long findMaxId();
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
+    // Account lifecycle: single statements, no entity is loaded
+
+    @Modifying
+    @Query("update User u set u.isActive = false, u.updatedAt = :now where u.email = :email and u.isActive = true")
+    int deactivateByEmail(@Param("email") String email, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update User u set u.isActive = false, u.updatedAt = :now, u.deletionRequestedAt = :now
+            where u.id = :id and u.deletionRequestedAt is null
+            """)
+    int markForDeletion(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select u.email from User u where u.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
+
+    @Query("select u.id from User u where u.deletionRequestedAt is not null order by u.deletionRequestedAt")
+    List<Long> findIdsPendingDeletion(Limit limit);
+
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+
 }
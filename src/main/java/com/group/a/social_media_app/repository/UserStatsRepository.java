@@ -0,0 +1,53 @@
+package com.group.a.social_media_app.repository;
+
+import com.group.a.social_media_app.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    @Query("select s.postCount from UserStats s where s.userId = :userId")
+    Optional<Long> findPostCountByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update UserStats s set s.postCount = s.postCount + :delta where s.userId = :userId")
+    int adjustPostCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("delete from UserStats s where s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Reconciliation, one user id range at a time
+
+    @Modifying
+    @Query(value = """
+            insert into user_stats (user_id, post_count)
+            select u.id, 0 from users u
+            where u.id >= :fromId and u.id < :toId
+              and not exists (select 1 from user_stats s where s.user_id = u.id)
+            """, nativeQuery = true)
+    int insertMissing(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Holds off adjustPostCount on the range until the recount commits; under READ COMMITTED the
+    // recount statement that follows then sees every post whose increment has already landed
+    @Query(value = """
+            select s.user_id from user_stats s
+            where s.user_id >= :fromId and s.user_id < :toId
+            for update
+            """, nativeQuery = true)
+    List<Long> lockRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = """
+            update user_stats s
+            set post_count = (select count(*) from posts p where p.user_id = s.user_id)
+            where s.user_id >= :fromId and s.user_id < :toId
+              and s.post_count <> (select count(*) from posts p where p.user_id = s.user_id)
+            """, nativeQuery = true)
+    int repairPostCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+}
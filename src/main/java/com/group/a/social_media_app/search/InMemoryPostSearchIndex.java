@@ -0,0 +1,129 @@
+package com.group.a.social_media_app.search;
+
+import com.group.a.social_media_app.dto.SearchCursor;
+import com.group.a.social_media_app.config.ReadYourWrites;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process inverted index (term to post ids with term frequencies) for tests and local
+ * development without PostgreSQL. Like {@code websearch_to_tsquery}, all query terms must
+ * match; hits are scored by summed term frequency. Built from the posts table on startup
+ * and kept current through the {@link PostSearchIndex} hooks.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryPostSearchIndex implements PostSearchIndex, ApplicationRunner {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final PostRepository postRepository;
+
+    private final ConcurrentMap<String, ConcurrentMap<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Map<String, Integer>> terms = new ConcurrentHashMap<>();
+
+    // Replica lag at startup would leave the newest posts unsearchable until the next rebuild
+    @Override
+    public void run(ApplicationArguments args) {
+        ReadYourWrites.runOnPrimary(this::rebuild);
+    }
+
+    private void rebuild() {
+        long afterId = 0;
+        List<Post> batch;
+        do {
+            batch = postRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (Post post : batch) index(post.getId(), post.getContent());
+            if (!batch.isEmpty()) afterId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Indexed {} posts for in-memory search", terms.size());
+    }
+
+    @Override
+    public synchronized void index(long postId, String content) {
+        remove(postId);
+        Map<String, Integer> frequencies = termFrequencies(content);
+        frequencies.forEach((term, tf) ->
+                postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(postId, tf));
+        terms.put(postId, frequencies);
+    }
+
+    @Override
+    public synchronized void remove(long postId) {
+        Map<String, Integer> previous = terms.remove(postId);
+        if (previous == null) return;
+        for (String term : previous.keySet()) {
+            postings.computeIfPresent(term, (t, posts) -> {
+                posts.remove(postId);
+                return posts.isEmpty() ? null : posts;
+            });
+        }
+    }
+
+    @Override
+    public List<SearchHit> search(String query, SearchCursor after, int limit) {
+        List<Map<Long, Integer>> lists = new ArrayList<>();
+        for (String term : termFrequencies(query).keySet()) {
+            Map<Long, Integer> posts = postings.get(term);
+            if (posts == null) return List.of();
+            lists.add(posts);
+        }
+        if (lists.isEmpty()) return List.of();
+        lists.sort(Comparator.comparingInt(Map::size));
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+            long postId = candidate.getKey();
+            double score = candidate.getValue();
+            boolean matchesAll = true;
+            for (int i = 1; i < lists.size() && matchesAll; i++) {
+                Integer tf = lists.get(i).get(postId);
+                if (tf == null) matchesAll = false;
+                else score += tf;
+            }
+            if (matchesAll && isAfter(score, postId, after)) hits.add(new SearchHit(postId, score));
+        }
+
+        hits.sort(Comparator.comparingDouble(SearchHit::score).thenComparingLong(SearchHit::postId).reversed());
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private static boolean isAfter(double score, long postId, SearchCursor after) {
+        if (after == null) return true;
+        return score < after.score() || (score == after.score() && postId < after.id());
+    }
+
+    static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (text == null) return frequencies;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                frequencies.merge(text.substring(start, i).toLowerCase(Locale.ROOT), 1, Integer::sum);
+                start = -1;
+            }
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,22 @@
+package com.group.a.social_media_app.search;
+
+import com.group.a.social_media_app.dto.SearchCursor;
+
+import java.util.List;
+
+/**
+ * Ranked full-text lookup over post content. The write hooks are driven by post events
+ * after commit; implementations that index inside the database ignore them.
+ */
+public interface PostSearchIndex {
+
+    void index(long postId, String content);
+
+    void remove(long postId);
+
+    /**
+     * Returns up to {@code limit} hits ordered by score then id, both descending, strictly
+     * after {@code after} when it is not null.
+     */
+    List<SearchHit> search(String query, SearchCursor after, int limit);
+}
@@ -0,0 +1,53 @@
+package com.group.a.social_media_app.search;
+
+import com.group.a.social_media_app.dto.FeedPage;
+import com.group.a.social_media_app.dto.SearchCursor;
+import com.group.a.social_media_app.exception.InvalidCursorException;
+import com.group.a.social_media_app.service.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    public static final int PAGE_SIZE = 20;
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private final PostSearchIndex searchIndex;
+    private final PostService postService;
+
+    /**
+     * Returns one page of posts matching {@code query}, best match first. The cursor carries
+     * the score and id of the last hit, so deeper pages cost the same as the first.
+     *
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    @Transactional(readOnly = true)
+    public FeedPage search(String query, String cursor) {
+        String normalized = query == null ? "" : query.strip();
+        if (normalized.isEmpty()) return FeedPage.builder().posts(List.of()).build();
+        if (normalized.length() > MAX_QUERY_LENGTH) normalized = normalized.substring(0, MAX_QUERY_LENGTH);
+
+        SearchCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = SearchCursor.decode(cursor).orElseThrow(() -> new InvalidCursorException(cursor));
+        }
+        List<SearchHit> hits = searchIndex.search(normalized, after, PAGE_SIZE + 1);
+
+        String nextCursor = null;
+        if (hits.size() > PAGE_SIZE) {
+            hits = hits.subList(0, PAGE_SIZE);
+            SearchHit last = hits.get(PAGE_SIZE - 1);
+            nextCursor = new SearchCursor(last.score(), last.postId()).encode();
+        }
+
+        return FeedPage.builder()
+                .posts(postService.getPostDTOs(hits.stream().map(SearchHit::postId).toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
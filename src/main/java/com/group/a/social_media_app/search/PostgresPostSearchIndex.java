@@ -0,0 +1,38 @@
+package com.group.a.social_media_app.search;
+
+import com.group.a.social_media_app.dto.SearchCursor;
+import com.group.a.social_media_app.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Searches the generated {@code posts.content_tsv} column through its GIN index
+ * (see {@code schema-postgresql.sql}). PostgreSQL keeps the column current on every write,
+ * so the index hooks have nothing to do.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresPostSearchIndex implements PostSearchIndex {
+
+    private final PostRepository postRepository;
+
+    @Override
+    public void index(long postId, String content) {
+    }
+
+    @Override
+    public void remove(long postId) {
+    }
+
+    @Override
+    public List<SearchHit> search(String query, SearchCursor after, int limit) {
+        List<PostRepository.SearchHitView> rows = after == null
+                ? postRepository.searchContent(query, limit)
+                : postRepository.searchContentAfter(query, (float) after.score(), after.id(), limit);
+        return rows.stream().map(row -> new SearchHit(row.getId(), row.getRank())).toList();
+    }
+}
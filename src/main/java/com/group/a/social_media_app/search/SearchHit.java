@@ -0,0 +1,4 @@
+package com.group.a.social_media_app.search;
+
+public record SearchHit(long postId, double score) {
+}
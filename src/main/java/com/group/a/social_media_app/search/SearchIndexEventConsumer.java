@@ -0,0 +1,44 @@
+package com.group.a.social_media_app.search;
+
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.event.PostEvent;
+import com.group.a.social_media_app.event.PostEventConsumer;
+import com.group.a.social_media_app.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the in-memory index in step with the posts table. Each touched post is re-read and
+ * indexed as it is now, or removed if it is gone, so redelivered or reordered events converge.
+ * PostgreSQL mode needs no consumer: the database maintains its own tsvector column.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "memory")
+@RequiredArgsConstructor
+public class SearchIndexEventConsumer implements PostEventConsumer {
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+
+    @Override
+    public void onPostEvents(List<PostEvent> events) {
+        Set<Long> postIds = events.stream().map(PostEvent::postId).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, String> contents = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Post::getContent));
+        for (Long postId : postIds) {
+            String content = contents.get(postId);
+            if (content != null) {
+                postSearchIndex.index(postId, content);
+            } else {
+                postSearchIndex.remove(postId);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.group.a.social_media_app.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps redirect flash attributes in a short-lived cookie instead of the HTTP session, so
+ * token mode stays sessionless. Meant for the short string messages the controllers flash.
+ */
+@RequiredArgsConstructor
+public class CookieFlashMapManager extends AbstractFlashMapManager {
+
+    static final String COOKIE = "FLASH";
+
+    private static final TypeReference<List<StoredFlashMap>> STORED = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return null;
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName()) && !cookie.getValue().isEmpty()) return decode(cookie.getValue());
+        }
+        return null;
+    }
+
+    @Override
+    protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request, HttpServletResponse response) {
+        String value = flashMaps.isEmpty() ? "" : encode(flashMaps);
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, value)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(value.isEmpty() ? 0 : getFlashMapTimeout())
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private String encode(List<FlashMap> flashMaps) {
+        List<StoredFlashMap> stored = flashMaps.stream()
+                .map(map -> new StoredFlashMap(map.getTargetRequestPath(), map.getTargetRequestParams(),
+                        map.getExpirationTime(), Map.copyOf(map)))
+                .toList();
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(stored));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write flash attributes", e);
+        }
+    }
+
+    private List<FlashMap> decode(String value) {
+        try {
+            List<StoredFlashMap> stored = objectMapper.readValue(Base64.getUrlDecoder().decode(value), STORED);
+            List<FlashMap> flashMaps = new ArrayList<>(stored.size());
+            for (StoredFlashMap entry : stored) {
+                FlashMap flashMap = new FlashMap();
+                flashMap.setTargetRequestPath(entry.path());
+                if (entry.params() != null) flashMap.addTargetRequestParams(new LinkedMultiValueMap<>(entry.params()));
+                flashMap.setExpirationTime(entry.expiresAt());
+                flashMap.putAll(entry.attributes());
+                flashMaps.add(flashMap);
+            }
+            return flashMaps;
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private record StoredFlashMap(String path, Map<String, List<String>> params, long expiresAt,
+                                  Map<String, Object> attributes) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.group.a.social_media_app.security;
+
+import com.group.a.social_media_app.security.TokenClaims.TokenType;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates each request from its access token (an {@code Authorization: Bearer} header,
+ * else the access cookie) without touching the database or any session. A browser whose access
+ * cookie has expired is issued a new pair from its refresh cookie on the way through.
+ */
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final TokenCookies tokenCookies;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            tokenService.verify(header.substring(BEARER.length()), TokenType.ACCESS)
+                    .ifPresent(claims -> authenticate(CustomUserPrincipal.of(claims.user()), request));
+        } else {
+            Optional<CustomUserPrincipal> principal = tokenCookies.accessToken(request)
+                    .flatMap(token -> tokenService.verify(token, TokenType.ACCESS))
+                    .map(claims -> CustomUserPrincipal.of(claims.user()))
+                    .or(() -> refresh(request, response));
+            principal.ifPresent(user -> authenticate(user, request));
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Optional<CustomUserPrincipal> refresh(HttpServletRequest request, HttpServletResponse response) {
+        Optional<CustomUserPrincipal> principal = tokenCookies.refreshToken(request).flatMap(tokenService::refresh);
+        principal.ifPresent(user -> tokenCookies.write(response, tokenService.issue(user.getSnapshot())));
+        return principal;
+    }
+
+    private static void authenticate(CustomUserPrincipal principal, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -0,0 +1,16 @@
+package com.group.a.social_media_app.security;
+
+import com.group.a.social_media_app.dto.UserSnapshot;
+
+import java.time.Instant;
+
+/**
+ * Verified contents of a token. Access tokens carry the full {@link UserSnapshot}, so a
+ * request can be authenticated from the token alone; refresh tokens only identify the user.
+ */
+public record TokenClaims(TokenType type, UserSnapshot user, Instant expiresAt) {
+
+    public enum TokenType {
+        ACCESS, REFRESH
+    }
+}
@@ -0,0 +1,64 @@
+package com.group.a.social_media_app.security;
+
+import com.group.a.social_media_app.dto.TokenPair;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Carries tokens for browser clients in HttpOnly, SameSite=Lax cookies, so pages and form
+ * posts work in token mode without any script handling the tokens.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.mode", havingValue = "token")
+@RequiredArgsConstructor
+public class TokenCookies {
+
+    private final TokenProperties properties;
+
+    public void write(HttpServletResponse response, TokenPair tokens) {
+        add(response, properties.getAccessCookie(), tokens.accessToken(), properties.getAccessTtl());
+        add(response, properties.getRefreshCookie(), tokens.refreshToken(), properties.getRefreshTtl());
+    }
+
+    public void clear(HttpServletResponse response) {
+        add(response, properties.getAccessCookie(), "", Duration.ZERO);
+        add(response, properties.getRefreshCookie(), "", Duration.ZERO);
+    }
+
+    public Optional<String> accessToken(HttpServletRequest request) {
+        return read(request, properties.getAccessCookie());
+    }
+
+    public Optional<String> refreshToken(HttpServletRequest request) {
+        return read(request, properties.getRefreshCookie());
+    }
+
+    private void add(HttpServletResponse response, String name, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(properties.isSecureCookies())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static Optional<String> read(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return Optional.empty();
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName()) && !cookie.getValue().isEmpty()) return Optional.of(cookie.getValue());
+        }
+        return Optional.empty();
+    }
+}
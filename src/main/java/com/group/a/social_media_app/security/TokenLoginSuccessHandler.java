@@ -0,0 +1,29 @@
+package com.group.a.social_media_app.security;
+
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+
+import java.io.IOException;
+
+/**
+ * Form login in token mode: hands the browser its token cookies instead of creating a session.
+ */
+@RequiredArgsConstructor
+public class TokenLoginSuccessHandler implements AuthenticationSuccessHandler {
+
+    private final TokenService tokenService;
+    private final TokenCookies tokenCookies;
+    private final String targetUrl;
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException {
+        CustomUserPrincipal principal = (CustomUserPrincipal) authentication.getPrincipal();
+        tokenCookies.write(response, tokenService.issue(principal.getSnapshot()));
+        response.sendRedirect(request.getContextPath() + targetUrl);
+    }
+}
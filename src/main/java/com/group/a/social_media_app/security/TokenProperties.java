@@ -0,0 +1,25 @@
+package com.group.a.social_media_app.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.token")
+public class TokenProperties {
+
+    // Base64 HMAC-SHA256 key shared by every node; a random one is generated when blank
+    private String secret;
+
+    private Duration accessTtl = Duration.ofMinutes(15);
+
+    private Duration refreshTtl = Duration.ofDays(7);
+
+    private String accessCookie = "ACCESS_TOKEN";
+
+    private String refreshCookie = "REFRESH_TOKEN";
+
+    // Set when served over HTTPS
+    private boolean secureCookies = false;
+}
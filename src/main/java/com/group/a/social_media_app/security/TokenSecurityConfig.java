@@ -0,0 +1,21 @@
+package com.group.a.social_media_app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMapManager;
+
+/**
+ * Beans that only exist in stateless token mode ({@code app.security.mode=token}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.security.mode", havingValue = "token")
+public class TokenSecurityConfig {
+
+    @Bean(name = DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+    public FlashMapManager flashMapManager(ObjectMapper objectMapper) {
+        return new CookieFlashMapManager(objectMapper);
+    }
+}
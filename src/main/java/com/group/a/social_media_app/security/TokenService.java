@@ -0,0 +1,154 @@
+package com.group.a.social_media_app.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.group.a.social_media_app.dto.TokenPair;
+import com.group.a.social_media_app.dto.UserSnapshot;
+import com.group.a.social_media_app.security.TokenClaims.TokenType;
+import com.group.a.social_media_app.service.CustomUserDetailsService;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies self-contained tokens: {@code base64url(json claims) "." base64url(HMAC-SHA256)}.
+ * Verification is a MAC check and an expiry check, with no database or session lookup, so any
+ * node holding the same secret can authenticate any request.
+ */
+@Service
+@ConditionalOnProperty(name = "app.security.mode", havingValue = "token")
+@Slf4j
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final TokenProperties properties;
+    private final CustomUserDetailsService userDetailsService;
+    private final ObjectMapper objectMapper;
+    private final byte[] key;
+    private final Mac prototype;
+
+    public TokenService(TokenProperties properties, CustomUserDetailsService userDetailsService,
+                        ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.userDetailsService = userDetailsService;
+        this.objectMapper = objectMapper;
+        this.key = secret(properties);
+        this.prototype = newMac(key);
+    }
+
+    public TokenPair issue(UserSnapshot user) {
+        return new TokenPair(
+                sign(TokenType.ACCESS, user, properties.getAccessTtl().toSeconds()),
+                sign(TokenType.REFRESH, user, properties.getRefreshTtl().toSeconds()),
+                properties.getAccessTtl().toSeconds());
+    }
+
+    /**
+     * Verifies a refresh token and reloads the user it names, so deactivated accounts stop
+     * getting new access tokens. The only token operation that may read the database.
+     */
+    public Optional<CustomUserPrincipal> refresh(String refreshToken) {
+        return verify(refreshToken, TokenType.REFRESH).flatMap(claims -> {
+            try {
+                UserDetails user = userDetailsService.loadUserByUsername(claims.user().getEmail());
+                return user instanceof CustomUserPrincipal principal && user.isEnabled()
+                        && principal.getId().equals(claims.user().getId())
+                        ? Optional.of(principal) : Optional.empty();
+            } catch (UsernameNotFoundException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    public Optional<TokenClaims> verify(String token, TokenType expectedType) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return Optional.empty();
+        try {
+            byte[] payload = token.substring(0, dot).getBytes(StandardCharsets.US_ASCII);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(mac(payload), signature)) return Optional.empty();
+
+            JsonNode claims = objectMapper.readTree(DECODER.decode(payload));
+            TokenType type = TokenType.valueOf(claims.path("typ").asText());
+            Instant expiresAt = Instant.ofEpochSecond(claims.path("exp").asLong());
+            if (type != expectedType || !expiresAt.isAfter(Instant.now())) return Optional.empty();
+
+            UserSnapshot user = UserSnapshot.builder()
+                    .id(claims.path("sub").asLong())
+                    .email(claims.path("email").asText())
+                    .firstName(claims.path("fn").asText(null))
+                    .lastName(claims.path("ln").asText(null))
+                    .build();
+            return Optional.of(new TokenClaims(type, user, expiresAt));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(TokenType type, UserSnapshot user, long ttlSeconds) {
+        ObjectNode claims = objectMapper.createObjectNode()
+                .put("typ", type.name())
+                .put("sub", user.getId())
+                .put("email", user.getEmail())
+                .put("exp", Instant.now().getEpochSecond() + ttlSeconds);
+        if (type == TokenType.ACCESS) {
+            claims.put("fn", user.getFirstName()).put("ln", user.getLastName());
+        }
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return payload + "." + ENCODER.encodeToString(mac(payload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write token claims", e);
+        }
+    }
+
+    // Mac instances are not thread-safe; cloning the keyed prototype skips the key setup
+    private byte[] mac(byte[] data) {
+        try {
+            return ((Mac) prototype.clone()).doFinal(data);
+        } catch (CloneNotSupportedException e) {
+            return newMac(key).doFinal(data);
+        }
+    }
+
+    private byte[] secret(TokenProperties properties) {
+        if (properties.getSecret() != null && !properties.getSecret().isBlank()) {
+            return Base64.getDecoder().decode(properties.getSecret());
+        }
+        log.warn("app.security.token.secret is not set; using a random key, so tokens will not survive a "
+                + "restart or be accepted by other nodes");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private static Mac newMac(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.group.a.social_media_app.service;
+
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.config.ReadYourWrites;
+import com.group.a.social_media_app.dto.AccountPurgeProgress;
+import com.group.a.social_media_app.event.PostEvent;
+import com.group.a.social_media_app.event.PostEventPublisher;
+import com.group.a.social_media_app.event.PostEventType;
+import com.group.a.social_media_app.reaction.ReactionService;
+import com.group.a.social_media_app.repository.FollowRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import com.group.a.social_media_app.timeline.TimelineService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Deactivates and deletes accounts without loading them. Deactivation is one UPDATE.
+ * Deletion deactivates and marks the account at once, then a background thread removes its
+ * reactions, posts and follows in chunks of {@code app.accounts.purge-chunk-size} rows, each chunk in
+ * its own short transaction, and the user row last. Marked accounts whose purge did not
+ * finish (a restart, a failed chunk) are picked up again by {@link #resumePending()}.
+ */
+@Service
+@Slf4j
+@Timed("app.service")
+public class AccountLifecycleService {
+
+    private static final int RESUME_BATCH = 100;
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final PostEventPublisher postEventPublisher;
+    private final ReactionService reactionService;
+    private final TimelineService timelineService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final Counter reactionsPurged;
+    private final Counter postsPurged;
+    private final Counter followsPurged;
+    private final Counter accountsDeleted;
+    // Finished purges stay visible for a day so callers can still read the outcome
+    private final Map<Long, AccountPurgeProgress> progress = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofDays(1))
+            .maximumSize(10_000)
+            .<Long, AccountPurgeProgress>build()
+            .asMap();
+    private volatile boolean stopping;
+
+    public AccountLifecycleService(UserRepository userRepository,
+                                   PostRepository postRepository,
+                                   FollowRepository followRepository,
+                                   UserStatsRepository userStatsRepository,
+                                   PostEventPublisher postEventPublisher,
+                                   ReactionService reactionService,
+                                   TimelineService timelineService,
+                                   CacheManager cacheManager,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.accounts.purge-chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.followRepository = followRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.postEventPublisher = postEventPublisher;
+        this.reactionService = reactionService;
+        this.timelineService = timelineService;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("account-purge-"));
+        this.chunkSize = chunkSize;
+        this.reactionsPurged = meterRegistry.counter("app.accounts.purged.rows", "table", "reactions");
+        this.postsPurged = meterRegistry.counter("app.accounts.purged.rows", "table", "posts");
+        this.followsPurged = meterRegistry.counter("app.accounts.purged.rows", "table", "follows");
+        this.accountsDeleted = meterRegistry.counter("app.accounts.deleted");
+        meterRegistry.gauge("app.accounts.purges.pending", executor,
+                pool -> pool.getQueue().size() + pool.getActiveCount());
+    }
+
+    /**
+     * Marks the account inactive so it can no longer sign in or be followed. Evicting the login
+     * principal makes the next authentication see the change. Returns false if there is no such
+     * active account.
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#email"),
+            @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#email")
+    })
+    @Counted("app.accounts.deactivated")
+    public boolean deactivate(String email) {
+        boolean deactivated = userRepository.deactivateByEmail(email, LocalDateTime.now()) > 0;
+        if (deactivated) log.info("Deactivated user: {}", email);
+        return deactivated;
+    }
+
+    /**
+     * Deactivates the account now and queues the removal of everything it owns. Returns the
+     * purge's progress, or empty if there is no such user.
+     */
+    public Optional<AccountPurgeProgress> requestDeletion(Long userId) {
+        Optional<String> email = transactionTemplate.execute(status -> {
+            Optional<String> found = userRepository.findEmailById(userId);
+            found.ifPresent(ignored -> userRepository.markForDeletion(userId, LocalDateTime.now()));
+            return found;
+        });
+        if (email.isEmpty()) return Optional.empty();
+        evictUser(userId, email.get());
+        log.info("Deletion requested for user id: {}", userId);
+        return Optional.of(schedule(userId));
+    }
+
+    public Optional<AccountPurgeProgress> getPurgeProgress(Long userId) {
+        return Optional.ofNullable(progress.get(userId));
+    }
+
+    // Picks up marked accounts left behind by a restart or a failed purge
+    @Scheduled(initialDelayString = "${app.accounts.purge-resume-delay:PT30S}",
+            fixedDelayString = "${app.accounts.purge-retry-interval:PT10M}")
+    public void resumePending() {
+        ReadYourWrites.runOnPrimary(() ->
+                userRepository.findIdsPendingDeletion(Limit.of(RESUME_BATCH)).forEach(this::schedule));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // The chunk in flight commits; the rest resumes from the mark after the restart
+        stopping = true;
+        executor.getQueue().clear();
+        executor.shutdown();
+    }
+
+    private AccountPurgeProgress schedule(Long userId) {
+        AccountPurgeProgress queued = AccountPurgeProgress.queued(userId);
+        AccountPurgeProgress current = progress.compute(userId,
+                (id, existing) -> existing != null && existing.isPending() ? existing : queued);
+        if (current == queued) executor.execute(() -> purge(userId));
+        return current;
+    }
+
+    private void purge(Long userId) {
+        try {
+            Optional<String> email = transactionTemplate.execute(status -> userRepository.findEmailById(userId));
+
+            long posts = 0;
+            long follows = 0;
+            int removed;
+            do {
+                removed = transactionTemplate.execute(status -> reactionService.removeReactionsByUser(userId, chunkSize));
+                reactionsPurged.increment(removed);
+            } while (removed == chunkSize && !stopping);
+            do {
+                removed = purgePosts(userId);
+                posts += removed;
+                report(userId, posts, follows);
+            } while (removed == chunkSize && !stopping);
+            do {
+                removed = purgeFollows(limit -> followRepository.findIdsByFollowerId(userId, limit));
+                follows += removed;
+                report(userId, posts, follows);
+            } while (removed == chunkSize && !stopping);
+            do {
+                removed = purgeFollows(limit -> followRepository.findIdsByFolloweeId(userId, limit));
+                follows += removed;
+                report(userId, posts, follows);
+            } while (removed == chunkSize && !stopping);
+            if (stopping) return;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                userStatsRepository.deleteByUserId(userId);
+                userRepository.deleteInBulkById(userId);
+            });
+            email.ifPresent(address -> evictUser(userId, address));
+            timelineService.onUserDeleted(userId);
+            accountsDeleted.increment();
+            progress.computeIfPresent(userId, (id, current) -> current.finished(AccountPurgeProgress.State.COMPLETED));
+            log.info("Deleted user id {}: {} posts and {} follows removed", userId, posts, follows);
+        } catch (RuntimeException e) {
+            progress.computeIfPresent(userId, (id, current) -> current.finished(AccountPurgeProgress.State.FAILED));
+            log.error("Purge of user id {} failed; retrying on the next resume", userId, e);
+        }
+    }
+
+    // Deleted posts go through the outbox like any other delete, so the search index drops them
+    private int purgePosts(Long userId) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> chunk = postRepository.findIdsByUserId(userId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) return chunk;
+            postEventPublisher.publishAll(chunk.stream()
+                    .map(id -> PostEvent.of(PostEventType.DELETED, id, userId))
+                    .toList());
+            reactionService.onPostsDeleted(chunk);
+            postRepository.deleteByIds(chunk);
+            return chunk;
+        });
+        Cache cachedPosts = cacheManager.getCache(CacheConfig.POSTS);
+        if (cachedPosts != null) ids.forEach(cachedPosts::evict);
+        postsPurged.increment(ids.size());
+        return ids.size();
+    }
+
+    private int purgeFollows(Function<Limit, List<Long>> nextChunk) {
+        int removed = transactionTemplate.execute(status -> {
+            List<Long> chunk = nextChunk.apply(Limit.of(chunkSize));
+            if (!chunk.isEmpty()) followRepository.deleteByIds(chunk);
+            return chunk.size();
+        });
+        followsPurged.increment(removed);
+        return removed;
+    }
+
+    private void report(Long userId, long posts, long follows) {
+        progress.computeIfPresent(userId, (id, current) -> current.running(posts, follows));
+        log.debug("Purging user id {}: {} posts and {} follows removed so far", userId, posts, follows);
+    }
+
+    private void evictUser(Long userId, String email) {
+        evict(CacheConfig.USERS_BY_EMAIL, email);
+        evict(CacheConfig.USER_DETAILS, email);
+        evict(CacheConfig.POST_COUNTS, userId);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) cache.evict(key);
+    }
+}
@@ -1,14 +1,21 @@
 package com.group.a.social_media_app.service;
 
 
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.dto.UserSnapshot;
 import com.group.a.social_media_app.entity.User;
 import com.group.a.social_media_app.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -19,43 +26,81 @@ import java.util.Collections;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
 
+    // Principals are immutable, so a cached one is safe to hand out; the short TTL bounds how
+    // long an account change made outside this service goes unnoticed
     @Override
     @Transactional(readOnly = true)
+    @Timed("app.service")
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS, key = "#email", sync = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        log.info("Authenticating user: {}", email);
+        log.debug("Loading user details: {}", email);
 
         User user = userRepository.findByEmailAndIsActive(email, Boolean.valueOf(true))
                 .orElseThrow(() -> {
-                    log.error("User not found: {}", email);
+                    log.debug("User not found: {}", email);
                     return new UsernameNotFoundException("Invalid credentials");
                 });
 
         return new CustomUserPrincipal(user);
     }
 
+    // Called after a successful login whose stored hash is prefix-less or below the configured cost
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#user.username"),
+            @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#user.username")
+    })
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.debug("Upgrading password hash for user: {}", user.getUsername());
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        return user instanceof CustomUserPrincipal principal ? principal.withPassword(newPassword) : user;
+    }
+
 
+    /**
+     * Holds a detached {@link UserSnapshot} rather than the {@link User} entity, so the
+     * principal stays small in the session and controllers never need to reload the user.
+     */
     public static class CustomUserPrincipal implements UserDetails {
-        private final User user;
+        private final UserSnapshot snapshot;
+        private final String password;
+        private final boolean active;
 
         public CustomUserPrincipal(User user) {
-            this.user = user;
+            this(UserSnapshot.of(user), user.getPassword(), Boolean.TRUE.equals(user.getIsActive()));
+        }
+
+        private CustomUserPrincipal(UserSnapshot snapshot, String password, boolean active) {
+            this.snapshot = snapshot;
+            this.password = password;
+            this.active = active;
+        }
+
+        // For requests authenticated by a verified token: no password, and active as of issue
+        public static CustomUserPrincipal of(UserSnapshot snapshot) {
+            return new CustomUserPrincipal(snapshot, "", true);
+        }
+
+        public CustomUserPrincipal withPassword(String newPassword) {
+            return new CustomUserPrincipal(snapshot, newPassword, active);
         }
 
-        public User getUser() {
-            return user;
+        public UserSnapshot getSnapshot() {
+            return snapshot;
         }
 
         public Long getId() {
-            return user.getId();
+            return snapshot.getId();
         }
 
         public String getFullName() {
-            return user.getFullName();
+            return snapshot.getFullName();
         }
 
         @Override
@@ -65,12 +110,12 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         @Override
         public String getPassword() {
-            return user.getPassword();
+            return password;
         }
 
         @Override
         public String getUsername() {
-            return user.getEmail();
+            return snapshot.getEmail();
         }
 
         @Override
@@ -90,7 +135,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         @Override
         public boolean isEnabled() {
-            return user.getIsActive();
+            return active;
         }
     }
 }
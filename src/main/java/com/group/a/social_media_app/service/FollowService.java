@@ -0,0 +1,59 @@
+package com.group.a.social_media_app.service;
+
+
+import com.group.a.social_media_app.entity.Follow;
+import com.group.a.social_media_app.repository.FollowRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.timeline.TimelineService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FollowService {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final TimelineService timelineService;
+
+    /**
+     * Makes {@code followerId} follow {@code followeeId}. Returns false if they already did.
+     */
+    public boolean follow(Long followerId, Long followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new IllegalArgumentException("You cannot follow yourself");
+        }
+        if (followRepository.existsByFollowerIdAndFolloweeId(followerId, followeeId)) return false;
+
+        followRepository.save(Follow.builder()
+                .follower(userRepository.getReferenceById(followerId))
+                .followee(userRepository.getReferenceById(followeeId))
+                .build());
+        timelineService.onFollowed(followerId, followeeId);
+        log.info("User {} followed {}", followerId, followeeId);
+        return true;
+    }
+
+    public boolean unfollow(Long followerId, Long followeeId) {
+        boolean removed = followRepository.deleteByFollowerIdAndFolloweeId(followerId, followeeId) > 0;
+        if (removed) {
+            timelineService.onUnfollowed(followerId, followeeId);
+            log.info("User {} unfollowed {}", followerId, followeeId);
+        }
+        return removed;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isFollowing(Long followerId, Long followeeId) {
+        return followRepository.existsByFollowerIdAndFolloweeId(followerId, followeeId);
+    }
+
+    @Transactional(readOnly = true)
+    public long getFollowerCount(Long userId) {
+        return followRepository.countByFolloweeId(userId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.group.a.social_media_app.service;
+
+
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Repairs drift in {@code user_stats.post_count} (and creates rows for users that predate it)
+ * by recounting posts one user id range at a time, each range in its own short transaction.
+ * The range's rows are locked before the recount, so a post created or deleted meanwhile
+ * either lands in the count or adjusts the repaired value afterwards, never both or neither.
+ */
+@Service
+@Slf4j
+public class PostCountReconciler {
+
+    private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final int batchSize;
+
+    public PostCountReconciler(UserRepository userRepository,
+                               UserStatsRepository userStatsRepository,
+                               PlatformTransactionManager transactionManager,
+                               CacheManager cacheManager,
+                               @Value("${app.post-count.reconcile-batch-size:1000}") int batchSize) {
+        this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.post-count.reconcile-initial-delay:PT30S}",
+            fixedDelayString = "${app.post-count.reconcile-interval:PT6H}")
+    public void reconcile() {
+        Long maxId = userRepository.findMaxId();
+        if (maxId == null) return;
+
+        int created = 0;
+        int repaired = 0;
+        for (long fromId = 0; fromId <= maxId; fromId += batchSize) {
+            long from = fromId;
+            long to = fromId + batchSize;
+            int[] counts = transactionTemplate.execute(status -> {
+                int inserted = userStatsRepository.insertMissing(from, to);
+                userStatsRepository.lockRange(from, to);
+                return new int[]{inserted, userStatsRepository.repairPostCounts(from, to)};
+            });
+            created += counts[0];
+            repaired += counts[1];
+        }
+
+        if (created > 0 || repaired > 0) {
+            Cache postCounts = cacheManager.getCache(CacheConfig.POST_COUNTS);
+            if (postCounts != null) postCounts.clear();
+            log.info("Post count reconciliation created {} and repaired {} user_stats rows", created, repaired);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.group.a.social_media_app.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.repository.PostRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's posts straight from a database cursor to an output stream. Each post is
+ * written and then detached, so memory use does not grow with the number of posts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("app.service")
+public class PostExportService {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Optional<Format> of(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) return Optional.of(format);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes every post of {@code userId}, oldest first, and returns how many were written.
+     * The output stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, String authorName, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long written;
+        try (Stream<Post> posts = postRepository.streamByUserId(userId)) {
+            written = format == Format.CSV
+                    ? writeCsv(posts.iterator(), authorName, writer)
+                    : writeNdjson(posts.iterator(), authorName, writer);
+        }
+        writer.flush();
+        log.debug("Exported {} posts of user id {} as {}", written, userId, format);
+        return written;
+    }
+
+    private long writeNdjson(Iterator<Post> posts, String authorName, Writer writer) throws IOException {
+        long count = 0;
+        JsonGenerator json = JSON.createGenerator(writer);
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        while (posts.hasNext()) {
+            Post post = posts.next();
+            json.writeStartObject();
+            json.writeNumberField("id", post.getId());
+            json.writeStringField("author", authorName);
+            json.writeStringField("createdAt", format(post.getCreatedAt()));
+            json.writeStringField("updatedAt", format(post.getUpdatedAt()));
+            json.writeStringField("content", post.getContent());
+            json.writeEndObject();
+            entityManager.detach(post);
+            count++;
+        }
+        json.flush();
+        if (count > 0) writer.write('\n');
+        return count;
+    }
+
+    private long writeCsv(Iterator<Post> posts, String authorName, Writer writer) throws IOException {
+        long count = 0;
+        writer.write("id,author,created_at,updated_at,content\r\n");
+        String author = csv(authorName);
+        while (posts.hasNext()) {
+            Post post = posts.next();
+            writer.write(String.valueOf(post.getId()));
+            writer.write(',');
+            writer.write(author);
+            writer.write(',');
+            writer.write(csv(format(post.getCreatedAt())));
+            writer.write(',');
+            writer.write(csv(format(post.getUpdatedAt())));
+            writer.write(',');
+            writer.write(csv(post.getContent()));
+            writer.write("\r\n");
+            entityManager.detach(post);
+            count++;
+        }
+        return count;
+    }
+
+    private static String format(LocalDateTime time) {
+        return time == null ? null : time.toString();
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks; double inner quotes
+    static String csv(String value) {
+        if (value == null) return "";
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
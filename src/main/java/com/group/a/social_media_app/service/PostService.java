@@ -1,81 +1,270 @@
 package com.group.a.social_media_app.service;
 
 
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.dto.FeedPage;
+import com.group.a.social_media_app.dto.PostCursor;
 import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.dto.PostFeedRow;
 import com.group.a.social_media_app.entity.Post;
 import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.event.PostEvent;
+import com.group.a.social_media_app.event.PostEventPublisher;
+import com.group.a.social_media_app.event.PostEventType;
+import com.group.a.social_media_app.exception.InvalidCursorException;
+import com.group.a.social_media_app.reaction.ReactionService;
 import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import com.group.a.social_media_app.timeline.TimelineService;
+import com.group.a.social_media_app.util.RelativeTime;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.Builder;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 @Builder
+@Timed("app.service")
 public class PostService {
 
+    public static final int FEED_PAGE_SIZE = 20;
+
+    // Posts persisted between flushes in createPosts; a multiple of hibernate.jdbc.batch_size
+    static final int IMPORT_FLUSH_SIZE = 500;
+
     private final PostRepository postRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final TimelineService timelineService;
+    private final PostEventPublisher postEventPublisher;
+    private final ReactionService reactionService;
+    private final EntityManager entityManager;
     private static final Logger log = LoggerFactory.getLogger(PostService.class);
 
 
+    @CacheEvict(cacheNames = CacheConfig.POST_COUNTS, key = "#user.id")
+    @Counted("app.posts.created")
     public Post createPost(PostDTO dto, User user) {
-        log.info("Creating post for: {}", user.getEmail());
+        log.info("Creating post for user id: {}", user.getId());
         Post post = Post.builder()
                 .content(dto.getContent())
                 .user(user)
                 .build();
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        userStatsRepository.adjustPostCount(user.getId(), 1);
+        postEventPublisher.publish(new PostEvent.PostCreated(saved.getId(), user.getId()));
+        return saved;
+    }
+
+    /**
+     * Bulk insert for imports and seeding. Ids are fetched a chunk at a time in one round trip
+     * and assigned up front, so Hibernate sends the rows as JDBC batches without a sequence
+     * call per post. The persistence context is cleared after every flush so memory stays flat
+     * however many posts arrive. Outbox events are queued per chunk and written at commit, and
+     * the post counter is adjusted once for the whole list. Returns the new ids in input order.
+     */
+    @CacheEvict(cacheNames = CacheConfig.POST_COUNTS, key = "#user.id")
+    public List<Long> createPosts(List<PostDTO> dtos, User user) {
+        log.info("Importing {} posts for user id: {}", dtos.size(), user.getId());
+        List<Long> ids = new ArrayList<>(dtos.size());
+        for (int from = 0; from < dtos.size(); from += IMPORT_FLUSH_SIZE) {
+            List<PostDTO> chunk = dtos.subList(from, Math.min(from + IMPORT_FLUSH_SIZE, dtos.size()));
+            List<Long> chunkIds = postRepository.nextIds(chunk.size()).stream().sorted().toList();
+            for (int i = 0; i < chunk.size(); i++) {
+                entityManager.persist(Post.builder()
+                        .id(chunkIds.get(i))
+                        .content(chunk.get(i).getContent())
+                        .user(user)
+                        .build());
+            }
+            publishCreated(chunkIds, user.getId());
+            entityManager.flush();
+            entityManager.clear();
+            ids.addAll(chunkIds);
+        }
+
+        userStatsRepository.adjustPostCount(user.getId(), ids.size());
+        return ids;
     }
 
+    private void publishCreated(List<Long> postIds, Long authorId) {
+        postEventPublisher.publishAll(postIds.stream()
+                .map(id -> PostEvent.of(PostEventType.CREATED, id, authorId))
+                .toList());
+    }
+
+    /**
+     * Returns one page of the user's posts, newest first, starting after {@code cursor}
+     * (or from the top when it is blank). Fetches one extra row to learn whether another
+     * page exists, so every page costs the same index range scan.
+     *
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
     @Transactional(readOnly = true)
-    public List<Post> getPostsByUser(User user) {
-        return postRepository.findByUserOrderByCreatedAtDesc(user);
+    public FeedPage getFeedPage(User user, String cursor) {
+        Limit limit = Limit.of(FEED_PAGE_SIZE + 1);
+        List<PostFeedRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = postRepository.findFeedRowsByUserId(user.getId(), limit);
+        } else {
+            PostCursor after = PostCursor.decode(cursor).orElseThrow(() -> new InvalidCursorException(cursor));
+            rows = postRepository.findFeedRowsByUserIdAfter(user.getId(), after.createdAt(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > FEED_PAGE_SIZE) {
+            rows = rows.subList(0, FEED_PAGE_SIZE);
+            PostFeedRow last = rows.get(FEED_PAGE_SIZE - 1);
+            // Rows written before auditing was enabled have no created_at and cannot be keyed past
+            if (last.createdAt() != null) {
+                nextCursor = new PostCursor(last.createdAt(), last.id()).encode();
+            }
+        }
+
+        return FeedPage.builder()
+                .posts(convertRowsToDTOs(rows))
+                .nextCursor(nextCursor)
+                .build();
     }
 
+    /**
+     * Returns one page of the user's home timeline: their own posts and those of everyone they
+     * follow, newest first. The cursor is the id of the last post on the previous page.
+     *
+     * @throws InvalidCursorException if the cursor is not a post id
+     */
     @Transactional(readOnly = true)
-    public Page<Post> getPostsByUser(User user, Pageable pageable) {
-        return postRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+    public FeedPage getTimelinePage(Long userId, String cursor) {
+        Long beforeId = parseIdCursor(cursor);
+        List<Long> ids = timelineService.readIds(userId, beforeId, FEED_PAGE_SIZE + 1);
+
+        String nextCursor = null;
+        if (ids.size() > FEED_PAGE_SIZE) {
+            ids = ids.subList(0, FEED_PAGE_SIZE);
+            nextCursor = String.valueOf(ids.get(FEED_PAGE_SIZE - 1));
+        }
+
+        return FeedPage.builder()
+                .posts(getPostDTOs(ids))
+                .nextCursor(nextCursor)
+                .build();
     }
 
+    /**
+     * Loads the given posts with their authors in one query, keeping the order of {@code ids}.
+     * Ids of posts that no longer exist are skipped.
+     */
     @Transactional(readOnly = true)
+    public List<PostDTO> getPostDTOs(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, PostFeedRow> byId = postRepository.findFeedRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostFeedRow::id, Function.identity()));
+        return convertRowsToDTOs(ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
+    private static Long parseIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    // Loads the author eagerly so the cached, detached post can still be rendered
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.POSTS, key = "#id", sync = true)
     public Optional<Post> findById(Long id) {
-        return postRepository.findById(id);
+        return postRepository.findWithUserById(id);
     }
 
-    public Post updatePost(Post post) {
-        return postRepository.save(post);
+    // Edits a managed copy; the instance passed in may be the shared cached one
+    @CacheEvict(cacheNames = CacheConfig.POSTS, key = "#post.id")
+    public Post updatePost(Post post, String content) {
+        Post managed = postRepository.getReferenceById(post.getId());
+        managed.setContent(content);
+        postEventPublisher.publish(new PostEvent.PostUpdated(post.getId(), post.getUser().getId()));
+        return managed;
     }
 
-    public void deletePost(Long id) {
-        postRepository.deleteById(id);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.POSTS, key = "#post.id"),
+            @CacheEvict(cacheNames = CacheConfig.POST_COUNTS, key = "#post.user.id")
+    })
+    @Counted("app.posts.deleted")
+    public void deletePost(Post post) {
+        reactionService.onPostsDeleted(List.of(post.getId()));
+        postRepository.deleteById(post.getId());
+        postEventPublisher.publish(new PostEvent.PostDeleted(post.getId(), post.getUser().getId()));
+        userStatsRepository.adjustPostCount(post.getUser().getId(), -1);
     }
 
     public PostDTO convertToDTO(Post post) {
+        return convertToDTO(post, RelativeTime.now());
+    }
+
+    // Authors of entity lists are batch-loaded (hibernate.default_batch_fetch_size), not one by one
+    public List<PostDTO> convertToDTOs(List<Post> posts) {
+        RelativeTime now = RelativeTime.now();
+        return posts.stream().map(post -> convertToDTO(post, now)).collect(Collectors.toList());
+    }
+
+    public PostDTO convertToDTO(PostFeedRow row) {
+        return convertToDTO(row, RelativeTime.now());
+    }
+
+    public List<PostDTO> convertRowsToDTOs(List<PostFeedRow> rows) {
+        RelativeTime now = RelativeTime.now();
+        return rows.stream().map(row -> convertToDTO(row, now)).collect(Collectors.toList());
+    }
+
+    private PostDTO convertToDTO(Post post, RelativeTime now) {
         return PostDTO.builder()
                 .id(post.getId())
                 .content(post.getContent())
                 .authorName(post.getUser().getFullName())
                 .createdAt(post.getCreatedAt())
-                .timeAgo(post.getTimeAgo())
+                .timeAgo(now.format(post.getCreatedAt()))
                 .build();
     }
 
-    public List<PostDTO> convertToDTOs(List<Post> posts) {
-        return posts.stream().map(this::convertToDTO).collect(Collectors.toList());
+    private PostDTO convertToDTO(PostFeedRow row, RelativeTime now) {
+        return PostDTO.builder()
+                .id(row.id())
+                .content(row.content())
+                .authorName(row.authorName())
+                .createdAt(row.createdAt())
+                .timeAgo(now.format(row.createdAt()))
+                .build();
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.POST_COUNTS, key = "#user.id", sync = true)
     public long getPostCountByUser(User user) {
-        return postRepository.countByUser(user);
+        return userStatsRepository.findPostCountByUserId(user.getId()).orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getLastUpdatedAt(Long userId) {
+        return postRepository.findLastUpdatedAtByUserId(userId);
     }
 }
@@ -0,0 +1,85 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.config.ReadYourWrites;
+import com.group.a.social_media_app.dto.UserEmailRef;
+import com.group.a.social_media_app.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Bloom filter of every registered email, so registration can skip the existence query for
+ * emails that are certainly new. Built from the users table on startup and fed by
+ * {@link UserService#registerUser}. A "maybe" still goes to the database, and the unique
+ * constraint on users.email stays the real guard: emails registered through another node
+ * are simply not in this node's filter.
+ */
+@Component
+@Slf4j
+public class RegisteredEmails implements ApplicationRunner {
+
+    private static final int REBUILD_BATCH_SIZE = 5000;
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Counter skipped;
+    private final Counter checked;
+
+    // Null until the startup build finishes; until then every email counts as possibly taken
+    private volatile BloomFilter filter;
+
+    public RegisteredEmails(UserRepository userRepository,
+                            @Value("${app.users.email-filter.expected-users:1000000}") long expectedUsers,
+                            @Value("${app.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.skipped = meterRegistry.counter("app.users.email-filter", "result", "skipped-query");
+        this.checked = meterRegistry.counter("app.users.email-filter", "result", "queried");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ReadYourWrites.runOnPrimary(this::rebuild);
+    }
+
+    private void rebuild() {
+        // Leave headroom so the false-positive rate holds while the user base grows
+        BloomFilter built = new BloomFilter(Math.max(expectedUsers, 2 * userRepository.count()), falsePositiveRate);
+        long afterId = 0;
+        long loaded = 0;
+        List<UserEmailRef> batch;
+        do {
+            batch = userRepository.findEmailsAfter(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (UserEmailRef ref : batch) built.add(ref.email());
+            loaded += batch.size();
+            if (!batch.isEmpty()) afterId = batch.get(batch.size() - 1).userId();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        filter = built;
+        log.info("Loaded {} registered emails into a {} KiB filter", loaded, built.bitSize() / 8 / 1024);
+    }
+
+    /**
+     * False only when no user on this node's record has the email; true may be a false positive.
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter;
+        boolean maybe = current == null || current.mightContain(email);
+        (maybe ? checked : skipped).increment();
+        return maybe;
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) current.add(email);
+    }
+}
@@ -1,34 +1,56 @@
 package com.group.a.social_media_app.service;
 
 
+import com.group.a.social_media_app.config.CacheConfig;
 import com.group.a.social_media_app.dto.UserRegistrationDTO;
 import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.entity.UserStats;
 import com.group.a.social_media_app.exception.UserAlreadyExistsException;
 import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
 
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed("app.service")
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmails registeredEmails;
 
+    /**
+     * Emails the filter has never seen skip the existence query. Whatever slips past (false
+     * negatives across nodes, concurrent registrations) is caught by the unique constraint
+     * at the flush and reported the same way.
+     */
+    // A lookup before registering may have cached the email as absent
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#registrationDTO.email")
+    @Counted("app.users.registered")
     public User registerUser(UserRegistrationDTO registrationDTO) {
         log.info("Registering user with email: {}", registrationDTO.getEmail());
 
-        if (userRepository.existsByEmail(registrationDTO.getEmail())) {
-            throw new UserAlreadyExistsException("Email already exists: " + registrationDTO.getEmail());
+        if (registeredEmails.mightBeRegistered(registrationDTO.getEmail())
+                && userRepository.existsByEmail(registrationDTO.getEmail())) {
+            throw alreadyExists(registrationDTO.getEmail());
         }
 
         if (!registrationDTO.isPasswordMatching()) {
@@ -43,24 +65,46 @@ public class UserService {
                 .isActive(true)
                 .build();
 
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, User.EMAIL_UNIQUE_CONSTRAINT)) throw alreadyExists(registrationDTO.getEmail());
+            throw e;
+        }
+        registeredEmails.add(saved.getEmail());
+        userStatsRepository.save(UserStats.builder().userId(saved.getId()).build());
+        return saved;
+    }
+
+    private static UserAlreadyExistsException alreadyExists(String email) {
+        return new UserAlreadyExistsException("Email already exists: " + email);
+    }
+
+    // H2 reports the constraint's index rather than the bare name, hence contains()
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#email", sync = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    /**
+     * Returns an uninitialized reference to the user with the given id. Enough to use as a
+     * query parameter or association value; it only hits the database if a field is read.
+     */
     @Transactional(readOnly = true)
-    public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
     }
 
-    public void deactivateUser(String email) {
-        userRepository.findByEmail(email).ifPresent(user -> {
-            user.setIsActive(false);
-            userRepository.save(user);
-            log.info("Deactivated user: {}", email);
-        });
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        return userRepository.existsByEmail(email);
     }
-}
\ No newline at end of file
+}
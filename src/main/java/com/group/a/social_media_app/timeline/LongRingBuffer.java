@@ -0,0 +1,67 @@
+package com.group.a.social_media_app.timeline;
+
+/**
+ * Fixed-capacity ring of post ids kept in ascending order. Once full, each push drops the
+ * oldest id. Backed by a primitive {@code long[]}, so a timeline costs 8 bytes per entry
+ * and never allocates after construction.
+ */
+final class LongRingBuffer {
+
+    private final long[] ids;
+    private int start;
+    private int size;
+
+    LongRingBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.ids = new long[capacity];
+    }
+
+    /**
+     * Adds an id. Ids normally arrive in ascending order; a late one is shifted into place,
+     * and one that is already present is ignored so redelivered fan-outs stay harmless.
+     */
+    synchronized void push(long id) {
+        int pos = size;
+        while (pos > 0 && get(pos - 1) > id) pos--;
+        if (pos > 0 && get(pos - 1) == id) return;
+
+        if (size == ids.length) {
+            if (pos == 0) return; // older than everything we keep
+            start = (start + 1) % ids.length;
+            size--;
+            pos--;
+        }
+        for (int i = size; i > pos; i--) set(i, get(i - 1));
+        set(pos, id);
+        size++;
+    }
+
+    /**
+     * Copies up to {@code limit} ids strictly below {@code beforeId} into {@code out},
+     * newest first, and returns how many were copied.
+     */
+    synchronized int readBefore(long beforeId, long[] out, int limit) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (get(mid) < beforeId) lo = mid + 1;
+            else hi = mid;
+        }
+        int n = 0;
+        for (int i = lo - 1; i >= 0 && n < limit; i--) out[n++] = get(i);
+        return n;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private long get(int logical) {
+        return ids[(start + logical) % ids.length];
+    }
+
+    private void set(int logical, long value) {
+        ids[(start + logical) % ids.length] = value;
+    }
+}
@@ -0,0 +1,34 @@
+package com.group.a.social_media_app.timeline;
+
+import com.group.a.social_media_app.event.PostEvent;
+import com.group.a.social_media_app.event.PostEventConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fans new posts out to timelines, one follower lookup per author per batch. Pushing is
+ * idempotent (timelines ignore ids they already hold). Deleted posts are left in place;
+ * readers drop ids that no longer resolve to a post.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimelineEventConsumer implements PostEventConsumer {
+
+    private final TimelineService timelineService;
+
+    @Override
+    public void onPostEvents(List<PostEvent> events) {
+        Map<Long, List<Long>> createdByAuthor = new LinkedHashMap<>();
+        for (PostEvent event : events) {
+            if (event instanceof PostEvent.PostCreated created) {
+                createdByAuthor.computeIfAbsent(created.authorId(), author -> new ArrayList<>()).add(created.postId());
+            }
+        }
+        createdByAuthor.forEach((authorId, postIds) -> timelineService.onPostsCreated(postIds, authorId));
+    }
+}
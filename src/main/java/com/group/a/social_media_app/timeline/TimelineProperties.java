@@ -0,0 +1,23 @@
+package com.group.a.social_media_app.timeline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.timeline")
+public class TimelineProperties {
+
+    // Post ids kept per timeline
+    private int capacity = 800;
+
+    // Timelines held in memory at once; readers beyond this are served by pull
+    private int maxTimelines = 100_000;
+
+    // Authors with at least this many followers are pulled on read instead of fanned out
+    private long celebrityFollowerThreshold = 10_000;
+
+    private boolean rebuildOnStartup = true;
+
+    // On startup, the authors of this many recent posts and their followers get filled timelines
+    private int rebuildPostLimit = 200_000;
+}
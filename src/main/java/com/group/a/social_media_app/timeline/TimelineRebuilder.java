@@ -0,0 +1,20 @@
+package com.group.a.social_media_app.timeline;
+
+import com.group.a.social_media_app.config.ReadYourWrites;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+class TimelineRebuilder implements ApplicationRunner {
+
+    private final TimelineService timelineService;
+
+    // From the primary: a lagging replica would leave recent posts out until the next restart
+    @Override
+    public void run(ApplicationArguments args) {
+        ReadYourWrites.runOnPrimary(timelineService::rebuild);
+    }
+}
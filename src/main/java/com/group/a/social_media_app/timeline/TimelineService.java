@@ -0,0 +1,192 @@
+package com.group.a.social_media_app.timeline;
+
+import com.group.a.social_media_app.dto.PostAuthorRef;
+import com.group.a.social_media_app.repository.FollowRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Home timelines built by fan-out on write. A new post id is pushed into the in-memory
+ * timeline of every follower that has one; posts by authors with very many followers are
+ * not pushed but pulled and merged at read time. Reads cost O(page size) either way.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineService {
+
+    private final TimelineStore store;
+    private final TimelineProperties properties;
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+
+    private final Set<Long> celebrities = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Pushes new posts into their author's and followers' timelines, looking followers up once
+     * for the whole batch. Followers without a materialized timeline are skipped; they pick the
+     * posts up when their timeline is pulled.
+     */
+    @Transactional(readOnly = true)
+    public void onPostsCreated(List<Long> postIds, Long authorId) {
+        if (postIds.isEmpty()) return;
+        List<Long> followerIds = celebrities.contains(authorId) ? List.of() : followRepository.findFollowerIds(authorId);
+        for (Long postId : postIds) {
+            store.pushIfPresent(authorId, postId);
+            for (Long followerId : followerIds) {
+                store.pushIfPresent(followerId, postId);
+            }
+        }
+    }
+
+    /**
+     * Backfills the followee's recent posts into the follower's timeline, once the follow has
+     * committed; a rolled-back follow must not leave its posts behind.
+     */
+    @Transactional(readOnly = true)
+    public void onFollowed(Long followerId, Long followeeId) {
+        boolean celebrity = celebrities.contains(followeeId)
+                || followRepository.countByFolloweeId(followeeId) >= properties.getCelebrityFollowerThreshold();
+        List<Long> recent = celebrity || store.get(followerId) == null
+                ? List.of()
+                : postRepository.findIdsByUserIds(List.of(followeeId), Limit.of(properties.getCapacity()));
+        afterCommit(() -> {
+            if (celebrity) celebrities.add(followeeId);
+            LongRingBuffer timeline = store.get(followerId);
+            if (timeline == null) return;
+            for (int i = recent.size() - 1; i >= 0; i--) timeline.push(recent.get(i));
+        });
+    }
+
+    public void onUnfollowed(Long followerId, Long followeeId) {
+        // Ring buffers cannot cheaply drop one author; the next read pulls a fresh timeline.
+        // Dropped after commit, or a read in between could refill it with the followee's posts
+        afterCommit(() -> store.remove(followerId));
+    }
+
+    // Followers' timelines keep the account's post ids until readers find them gone
+    public void onUserDeleted(Long userId) {
+        store.remove(userId);
+        celebrities.remove(userId);
+    }
+
+    /**
+     * Returns up to {@code limit} post ids from the user's home timeline older than
+     * {@code beforeId} (or the newest when null), newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> readIds(Long userId, Long beforeId, int limit) {
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+
+        LongRingBuffer timeline = store.get(userId);
+        if (timeline == null) {
+            timeline = store.tryCreate(userId);
+            if (timeline != null) fill(timeline, userId);
+        }
+
+        List<Long> pushed;
+        if (timeline != null) {
+            long[] buffer = new long[limit];
+            int n = timeline.readBefore(before, buffer, limit);
+            pushed = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) pushed.add(buffer[i]);
+        } else {
+            // Store is full: serve this reader straight from the posts index
+            pushed = postRepository.findIdsByUserIdsBefore(pushedAuthors(userId), before, Limit.of(limit));
+        }
+
+        List<Long> pulled = pullCelebrityPosts(userId, before, limit);
+        return pulled.isEmpty() ? pushed : mergeDescending(pushed, pulled, limit);
+    }
+
+    /**
+     * Fills timelines so readers start warm after a restart: the authors of the most recent
+     * posts and their followers, newest authors first, until the store is full. Each timeline
+     * is filled completely, as a first read would, so it is never missing older followees.
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        celebrities.clear();
+        celebrities.addAll(followRepository.findFolloweeIdsWithAtLeast(properties.getCelebrityFollowerThreshold()));
+        if (!properties.isRebuildOnStartup()) return;
+
+        Set<Long> authors = new LinkedHashSet<>();
+        for (PostAuthorRef ref : postRepository.findRecentAuthorRefs(Limit.of(properties.getRebuildPostLimit()))) {
+            authors.add(ref.authorId());
+        }
+        warming:
+        for (Long authorId : authors) {
+            if (!warm(authorId)) break;
+            if (celebrities.contains(authorId)) continue;
+            for (Long followerId : followRepository.findFollowerIds(authorId)) {
+                if (!warm(followerId)) break warming;
+            }
+        }
+        log.info("Rebuilt {} timelines for the followers of {} recent authors", store.size(), authors.size());
+    }
+
+    // Creates and fills the user's timeline unless it exists; false once the store is full
+    private boolean warm(Long userId) {
+        if (store.get(userId) != null) return true;
+        LongRingBuffer timeline = store.tryCreate(userId);
+        if (timeline == null) return store.get(userId) != null;
+        fill(timeline, userId);
+        return true;
+    }
+
+    private void fill(LongRingBuffer timeline, Long userId) {
+        List<Long> recent = postRepository.findIdsByUserIds(pushedAuthors(userId), Limit.of(properties.getCapacity()));
+        for (int i = recent.size() - 1; i >= 0; i--) timeline.push(recent.get(i));
+    }
+
+    // The user plus everyone they follow whose posts are fanned out rather than pulled
+    private List<Long> pushedAuthors(Long userId) {
+        List<Long> authors = new ArrayList<>(followRepository.findFolloweeIds(userId));
+        authors.removeIf(celebrities::contains);
+        authors.add(userId);
+        return authors;
+    }
+
+    private List<Long> pullCelebrityPosts(Long userId, long before, int limit) {
+        if (celebrities.isEmpty()) return Collections.emptyList();
+        List<Long> followed = followRepository.findFolloweeIdsIn(userId, celebrities);
+        if (followed.isEmpty()) return Collections.emptyList();
+        return postRepository.findIdsByUserIdsBefore(followed, before, Limit.of(limit));
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static List<Long> mergeDescending(List<Long> a, List<Long> b, int limit) {
+        List<Long> merged = new ArrayList<>(limit);
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < a.size() || j < b.size())) {
+            long next;
+            if (j >= b.size() || (i < a.size() && a.get(i) >= b.get(j))) next = a.get(i++);
+            else next = b.get(j++);
+            // A newly promoted author can appear in both lists
+            if (merged.isEmpty() || merged.get(merged.size() - 1) != next) merged.add(next);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,48 @@
+package com.group.a.social_media_app.timeline;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded in-memory home timelines, one {@link LongRingBuffer} per user. Once the store holds
+ * {@code maxTimelines} entries it stops materializing new ones, and those users are read by pull.
+ */
+@Component
+class TimelineStore {
+
+    private final ConcurrentMap<Long, LongRingBuffer> timelines = new ConcurrentHashMap<>();
+    private final TimelineProperties properties;
+
+    TimelineStore(TimelineProperties properties) {
+        this.properties = properties;
+    }
+
+    LongRingBuffer get(long userId) {
+        return timelines.get(userId);
+    }
+
+    /**
+     * Creates an empty timeline for the user and returns it, or returns null if one already
+     * exists or the store is full. Only the caller that gets a buffer back should fill it.
+     */
+    LongRingBuffer tryCreate(long userId) {
+        if (timelines.size() >= properties.getMaxTimelines()) return null;
+        LongRingBuffer created = new LongRingBuffer(properties.getCapacity());
+        return timelines.putIfAbsent(userId, created) == null ? created : null;
+    }
+
+    void pushIfPresent(long userId, long postId) {
+        LongRingBuffer timeline = timelines.get(userId);
+        if (timeline != null) timeline.push(postId);
+    }
+
+    void remove(long userId) {
+        timelines.remove(userId);
+    }
+
+    int size() {
+        return timelines.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.group.a.social_media_app.trending;
+
+import java.util.Arrays;
+
+/**
+ * Approximate counts for any number of distinct keys in {@code depth × width} counters. An
+ * estimate never undercounts and overcounts by about {@code total / width} with high
+ * probability. Updates are conservative: only the counters at the current minimum grow, which
+ * keeps collisions from inflating keys that are already ahead. Not thread-safe.
+ */
+final class CountMinSketch {
+
+    private final int[][] rows;
+    private final int bits;
+    private final int mask;
+
+    CountMinSketch(int width, int depth) {
+        if (Integer.bitCount(width) != 1) throw new IllegalArgumentException("width must be a power of two");
+        if (depth * Integer.numberOfTrailingZeros(width) > Long.SIZE) {
+            throw new IllegalArgumentException("depth × log2(width) must fit in a 64-bit hash");
+        }
+        this.rows = new int[depth][width];
+        this.bits = Integer.numberOfTrailingZeros(width);
+        this.mask = width - 1;
+    }
+
+    // Adds one occurrence and returns the key's new estimate
+    int add(long hash) {
+        int estimate = estimate(hash) + 1;
+        for (int row = 0; row < rows.length; row++) {
+            int index = index(hash, row);
+            if (rows[row][index] < estimate) rows[row][index] = estimate;
+        }
+        return estimate;
+    }
+
+    int estimate(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < rows.length; row++) {
+            min = Math.min(min, rows[row][index(hash, row)]);
+        }
+        return min;
+    }
+
+    void clear() {
+        for (int[] row : rows) Arrays.fill(row, 0);
+    }
+
+    // Each row indexes with its own slice of the (well-mixed) hash, so rows collide independently
+    private int index(long hash, int row) {
+        return (int) (hash >>> (row * bits)) & mask;
+    }
+}
@@ -0,0 +1,52 @@
+package com.group.a.social_media_app.trending;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Finds the hashtags in a post: {@code #} at the start of a word followed by letters, digits or
+ * underscores, at least one of them a letter. Tags are lowercased so {@code #Java} and
+ * {@code #java} count together.
+ */
+public final class Hashtags {
+
+    static final int MAX_LENGTH = 50;
+
+    // A post stuffed with tags counts only its first few
+    static final int MAX_PER_POST = 10;
+
+    private Hashtags() {
+    }
+
+    public static Set<String> extract(String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (content == null) return tags;
+        int length = content.length();
+        for (int i = 0; i < length && tags.size() < MAX_PER_POST; i++) {
+            if (content.charAt(i) != '#' || (i > 0 && !startsWord(content.charAt(i - 1)))) continue;
+
+            int end = i + 1;
+            boolean hasLetter = false;
+            while (end < length && isTagChar(content.charAt(end))) {
+                hasLetter |= Character.isLetter(content.charAt(end));
+                end++;
+            }
+            int tagLength = end - i - 1;
+            if (hasLetter && tagLength <= MAX_LENGTH) {
+                tags.add(content.substring(i + 1, end).toLowerCase(Locale.ROOT));
+            }
+            i = end - 1;
+        }
+        return tags;
+    }
+
+    // Not after a word character or a URL path (example.com/#anchor)
+    private static boolean startsWord(char previous) {
+        return !isTagChar(previous) && previous != '/' && previous != '&' && previous != '#';
+    }
+
+    private static boolean isTagChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
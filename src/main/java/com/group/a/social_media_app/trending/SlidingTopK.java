@@ -0,0 +1,91 @@
+package com.group.a.social_media_app.trending;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Most frequent keys over a sliding window made of tumbling buckets. Each bucket has its own
+ * {@link CountMinSketch} and {@link SpaceSavingHeap}; a bucket is cleared and reused when its
+ * slot comes round again, so memory is fixed by the bucket count and sketch size alone. A
+ * query takes the union of the buckets' heaps as candidates and ranks them by their summed
+ * sketch estimates. Not thread-safe.
+ */
+final class SlidingTopK {
+
+    private static final class Bucket {
+        final CountMinSketch sketch;
+        final SpaceSavingHeap heap;
+        long epoch = Long.MIN_VALUE;
+
+        Bucket(int width, int depth, int capacity) {
+            this.sketch = new CountMinSketch(width, depth);
+            this.heap = new SpaceSavingHeap(capacity);
+        }
+    }
+
+    private final Bucket[] buckets;
+    private final long bucketMillis;
+
+    SlidingTopK(Duration window, int bucketCount, int width, int depth, int capacity) {
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) buckets[i] = new Bucket(width, depth, capacity);
+        this.bucketMillis = window.toMillis() / bucketCount;
+    }
+
+    // Occurrences older than the window are dropped; ones from the future count as now
+    void add(String key, long atMillis, long nowMillis) {
+        long now = Math.floorDiv(nowMillis, bucketMillis);
+        long epoch = Math.min(Math.floorDiv(atMillis, bucketMillis), now);
+        if (epoch <= now - buckets.length) return;
+
+        Bucket bucket = buckets[Math.floorMod(epoch, buckets.length)];
+        if (bucket.epoch != epoch) {
+            if (bucket.epoch > epoch) return;
+            bucket.sketch.clear();
+            bucket.heap.clear();
+            bucket.epoch = epoch;
+        }
+        bucket.heap.offer(key, bucket.sketch.add(hash(key)));
+    }
+
+    List<TrendingTag> top(int limit, long nowMillis) {
+        long now = Math.floorDiv(nowMillis, bucketMillis);
+        List<Bucket> live = new ArrayList<>(buckets.length);
+        Map<String, Long> candidates = new HashMap<>();
+        for (Bucket bucket : buckets) {
+            if (bucket.epoch > now - buckets.length && bucket.epoch <= now) {
+                live.add(bucket);
+                bucket.heap.forEach((key, count) -> candidates.putIfAbsent(key, 0L));
+            }
+        }
+
+        List<TrendingTag> ranked = new ArrayList<>(candidates.size());
+        candidates.keySet().forEach(key -> {
+            long hash = hash(key);
+            long total = 0;
+            for (Bucket bucket : live) total += bucket.sketch.estimate(hash);
+            ranked.add(new TrendingTag(key, total));
+        });
+        ranked.sort(Comparator.comparingLong(TrendingTag::count).reversed().thenComparing(TrendingTag::tag));
+        return List.copyOf(ranked.subList(0, Math.min(limit, ranked.size())));
+    }
+
+    // FNV-1a, then the Murmur3 finalizer so similar tags land far apart
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,93 @@
+package com.group.a.social_media_app.trending;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * The {@code capacity} keys with the highest counts seen so far, as a min-heap indexed by key.
+ * A key outside the heap replaces the current minimum once its count exceeds it, so memory
+ * stays at {@code capacity} entries however many distinct keys pass through. Not thread-safe.
+ */
+final class SpaceSavingHeap {
+
+    private final String[] keys;
+    private final int[] counts;
+    private final Map<String, Integer> positions;
+    private int size;
+
+    SpaceSavingHeap(int capacity) {
+        this.keys = new String[capacity];
+        this.counts = new int[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    void offer(String key, int count) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            if (count > counts[position]) {
+                counts[position] = count;
+                siftDown(position);
+            }
+        } else if (size < keys.length) {
+            keys[size] = key;
+            counts[size] = count;
+            positions.put(key, size);
+            siftUp(size++);
+        } else if (count > counts[0]) {
+            positions.remove(keys[0]);
+            keys[0] = key;
+            counts[0] = count;
+            positions.put(key, 0);
+            siftDown(0);
+        }
+    }
+
+    void forEach(BiConsumer<String, Integer> action) {
+        for (int i = 0; i < size; i++) action.accept(keys[i], counts[i]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= counts[i]) return;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) smallest = left;
+            if (right < size && counts[right] < counts[smallest]) smallest = right;
+            if (smallest == i) return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        int count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+}
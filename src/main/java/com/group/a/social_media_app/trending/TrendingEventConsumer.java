@@ -0,0 +1,30 @@
+package com.group.a.social_media_app.trending;
+
+import com.group.a.social_media_app.event.PostEvent;
+import com.group.a.social_media_app.event.PostEventConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Feeds created and edited posts to {@link TrendingService}. Redelivered events are harmless:
+ * a post's tags are counted once.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrendingEventConsumer implements PostEventConsumer {
+
+    private final TrendingService trendingService;
+
+    @Override
+    public void onPostEvents(List<PostEvent> events) {
+        Set<Long> postIds = new LinkedHashSet<>();
+        for (PostEvent event : events) {
+            if (!(event instanceof PostEvent.PostDeleted)) postIds.add(event.postId());
+        }
+        trendingService.onPostsChanged(postIds);
+    }
+}
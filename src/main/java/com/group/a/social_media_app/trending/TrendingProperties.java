@@ -0,0 +1,27 @@
+package com.group.a.social_media_app.trending;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingProperties {
+
+    // Count-min sketch counters per row (a power of two) and rows, per time bucket; rows × log2(width) <= 64
+    private int sketchWidth = 2048;
+    private int sketchDepth = 4;
+
+    // Candidate tags kept per time bucket
+    private int trackedTags = 100;
+
+    // Tags returned per window
+    private int topSize = 20;
+
+    // Posts whose counted tags are remembered, so edits and redeliveries count only new tags
+    private int rememberedPosts = 100_000;
+
+    private boolean rebuildOnStartup = true;
+
+    // Most recent posts replayed on startup
+    private int rebuildPostLimit = 200_000;
+}
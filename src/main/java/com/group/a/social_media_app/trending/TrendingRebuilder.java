@@ -0,0 +1,19 @@
+package com.group.a.social_media_app.trending;
+
+import com.group.a.social_media_app.config.ReadYourWrites;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+class TrendingRebuilder implements ApplicationRunner {
+
+    private final TrendingService trendingService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ReadYourWrites.runOnPrimary(trendingService::rebuild);
+    }
+}
@@ -0,0 +1,119 @@
+package com.group.a.social_media_app.trending;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.group.a.social_media_app.dto.PostContentRow;
+import com.group.a.social_media_app.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trending hashtags over the last hour and day, counted in memory as posts are written. Memory
+ * is fixed by {@code app.trending.*} whatever the number of distinct tags: each window is a
+ * {@link SlidingTopK}. Readers get the ranking computed after the last change (or by the
+ * periodic refresh that lets old buckets slide out), so {@link #trending} is a field read.
+ *
+ * <p>Counts are approximate and local to this node: an edit adds only the tags the post did not
+ * have yet, and deleting a post does not take its tags back.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final TrendingProperties properties;
+    private final PostRepository postRepository;
+    private final Map<TrendingWindow, SlidingTopK> windows = new EnumMap<>(TrendingWindow.class);
+    // Tags already counted per post; evicted entries at worst count an old post's tags again
+    private final Map<Long, Set<String>> counted;
+    private volatile Map<TrendingWindow, List<TrendingTag>> ranking;
+
+    public TrendingService(TrendingProperties properties, PostRepository postRepository) {
+        this.properties = properties;
+        this.postRepository = postRepository;
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new SlidingTopK(window.getLength(), window.getBuckets(),
+                    properties.getSketchWidth(), properties.getSketchDepth(), properties.getTrackedTags()));
+        }
+        this.counted = Caffeine.newBuilder()
+                .maximumSize(properties.getRememberedPosts())
+                .expireAfterWrite(TrendingWindow.DAY.getLength())
+                .<Long, Set<String>>build()
+                .asMap();
+        refresh();
+    }
+
+    public List<TrendingTag> trending(TrendingWindow window) {
+        return ranking.get(window);
+    }
+
+    // Created or edited posts: re-reads their content and counts the tags not seen on them yet
+    public void onPostsChanged(Collection<Long> postIds) {
+        if (postIds.isEmpty()) return;
+        record(postRepository.findContentRowsByIdIn(postIds));
+        refresh();
+    }
+
+    /**
+     * Replays posts written within the last day, newest first by id, up to
+     * {@code app.trending.rebuild-post-limit}.
+     */
+    public void rebuild() {
+        if (!properties.isRebuildOnStartup()) return;
+
+        LocalDateTime since = LocalDateTime.now().minus(TrendingWindow.DAY.getLength());
+        long beforeId = Long.MAX_VALUE;
+        int replayed = 0;
+        while (replayed < properties.getRebuildPostLimit()) {
+            int limit = Math.min(REBUILD_CHUNK, properties.getRebuildPostLimit() - replayed);
+            List<PostContentRow> chunk = postRepository.findContentRowsBefore(beforeId, Limit.of(limit));
+            List<PostContentRow> recent = chunk.stream()
+                    .filter(row -> row.createdAt() != null && row.createdAt().isAfter(since))
+                    .toList();
+            record(recent);
+            replayed += chunk.size();
+            if (chunk.size() < limit || recent.isEmpty()) break;
+            beforeId = chunk.getLast().id();
+        }
+        refresh();
+        log.info("Rebuilt trending hashtags from {} recent posts", replayed);
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        Map<TrendingWindow, List<TrendingTag>> next = new EnumMap<>(TrendingWindow.class);
+        windows.forEach((window, topK) -> next.put(window, topK.top(properties.getTopSize(), now)));
+        ranking = next;
+    }
+
+    private synchronized void record(List<PostContentRow> rows) {
+        long now = System.currentTimeMillis();
+        for (PostContentRow row : rows) {
+            Set<String> tags = Hashtags.extract(row.content());
+            Set<String> seen = counted.getOrDefault(row.id(), Set.of());
+            if (seen.containsAll(tags)) continue;
+
+            LocalDateTime writtenAt = row.updatedAt() != null ? row.updatedAt() : row.createdAt();
+            long at = writtenAt != null ? writtenAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : now;
+            Set<String> all = new HashSet<>(seen);
+            for (String tag : tags) {
+                if (!all.add(tag)) continue;
+                for (SlidingTopK topK : windows.values()) topK.add(tag, at, now);
+            }
+            counted.put(row.id(), Set.copyOf(all));
+        }
+    }
+}
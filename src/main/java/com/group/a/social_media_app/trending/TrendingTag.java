@@ -0,0 +1,7 @@
+package com.group.a.social_media_app.trending;
+
+/**
+ * A hashtag (without the {@code #}) and its estimated number of posts in a window.
+ */
+public record TrendingTag(String tag, long count) {
+}
@@ -0,0 +1,41 @@
+package com.group.a.social_media_app.trending;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public enum TrendingWindow {
+
+    // Twelve five-minute buckets
+    HOUR("hour", Duration.ofHours(1), 12),
+    // Twenty-four one-hour buckets
+    DAY("day", Duration.ofDays(1), 24);
+
+    private final String name;
+    private final Duration length;
+    private final int buckets;
+
+    TrendingWindow(String name, Duration length, int buckets) {
+        this.name = name;
+        this.length = length;
+        this.buckets = buckets;
+    }
+
+    public static Optional<TrendingWindow> of(String name) {
+        for (TrendingWindow window : values()) {
+            if (window.name.equalsIgnoreCase(name)) return Optional.of(window);
+        }
+        return Optional.empty();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+}
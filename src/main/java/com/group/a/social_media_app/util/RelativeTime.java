@@ -0,0 +1,50 @@
+package com.group.a.social_media_app.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * "5 minute(s) ago" labels against one fixed instant. Take a snapshot once per page and
+ * format every post with it: one clock read per render instead of one per post, and the
+ * labels come from precomputed tables rather than fresh concatenations.
+ */
+public final class RelativeTime {
+
+    private static final int CACHED_DAYS = 366;
+
+    private static final String[] MINUTES = new String[60];
+    private static final String[] HOURS = new String[24];
+    private static final String[] DAYS = new String[CACHED_DAYS];
+
+    static {
+        MINUTES[0] = "Just now";
+        for (int i = 1; i < MINUTES.length; i++) MINUTES[i] = i + " minute(s) ago";
+        for (int i = 1; i < HOURS.length; i++) HOURS[i] = i + " hour(s) ago";
+        for (int i = 1; i < DAYS.length; i++) DAYS[i] = i + " day(s) ago";
+    }
+
+    private final long nowSeconds;
+
+    private RelativeTime(LocalDateTime now) {
+        this.nowSeconds = now.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static RelativeTime now() {
+        return at(LocalDateTime.now());
+    }
+
+    public static RelativeTime at(LocalDateTime now) {
+        return new RelativeTime(now);
+    }
+
+    public String format(LocalDateTime time) {
+        if (time == null) return "";
+        // Both sides are wall-clock times in the same zone, so UTC stands in for it
+        long minutes = (nowSeconds - time.toEpochSecond(ZoneOffset.UTC)) / 60;
+        if (minutes < 60) return MINUTES[(int) Math.max(minutes, 0)];
+        long hours = minutes / 60;
+        if (hours < 24) return HOURS[(int) hours];
+        long days = hours / 24;
+        return days < CACHED_DAYS ? DAYS[(int) days] : days + " day(s) ago";
+    }
+}
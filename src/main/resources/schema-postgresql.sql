@@ -0,0 +1,19 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization).
+-- Statements must be idempotent: this script runs on every startup.
+
+-- Full-text search: PostgreSQL maintains the tsvector itself on every insert/update
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS content_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_posts_content_tsv ON posts USING GIN (content_tsv);
+
+-- Ids moved from identity columns to sequences (posts_seq unpooled, users_seq allocationSize 50).
+-- Keep each sequence ahead of ids already in the table; GREATEST never moves it backwards.
+SELECT setval('posts_seq', GREATEST((SELECT last_value FROM posts_seq), (SELECT COALESCE(MAX(id), 0) FROM posts) + 1));
+SELECT setval('users_seq', GREATEST((SELECT last_value FROM users_seq), (SELECT COALESCE(MAX(id), 0) FROM users) + 50));
+
+-- The email unique constraint is now named uk_users_email; drop the one PostgreSQL named itself
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+
+-- Accounts awaiting their background purge: a handful of rows, so index only those
+CREATE INDEX IF NOT EXISTS idx_users_deletion_requested ON users (deletion_requested_at)
+    WHERE deletion_requested_at IS NOT NULL;
@@ -1,11 +1,99 @@
-// script.js — basic functionality for dismissing flash messages
+// script.js — basic functionality for dismissing flash messages, paging the feed,
+// swapping in single posts after create/delete and reaction counts after a reaction without
+// reloading the page, and keeping relative timestamps current
 
 document.addEventListener("DOMContentLoaded", function () {
-    const alerts = document.querySelectorAll(".alert");
+    const hideLater = alert => setTimeout(() => {
+        alert.style.display = "none";
+    }, 3000); // Hide after 3 seconds
 
-    alerts.forEach(alert => {
-        setTimeout(() => {
-            alert.style.display = "none";
-        }, 3000); // Hide after 3 seconds
+    document.querySelectorAll(".alert").forEach(hideLater);
+
+    const postList = document.getElementById("post-list");
+    if (postList) {
+        // Each page fragment ends with its own "Load more" button carrying the next cursor
+        postList.addEventListener("click", function (event) {
+            const button = event.target.closest(".load-more");
+            if (!button) return;
+
+            button.disabled = true;
+            fetch(button.dataset.url, { headers: { "Accept": "text/html" } })
+                .then(response => {
+                    if (!response.ok) throw new Error(response.statusText);
+                    return response.text();
+                })
+                .then(html => {
+                    button.remove();
+                    postList.insertAdjacentHTML("beforeend", html);
+                })
+                .catch(() => {
+                    button.disabled = false;
+                });
+        });
+    }
+
+    const replaceAlerts = html => {
+        const alerts = document.getElementById("alerts");
+        if (!alerts) return;
+        alerts.outerHTML = html;
+        document.querySelectorAll("#alerts .alert").forEach(hideLater);
+    };
+
+    const adjustCount = delta => {
+        const count = document.getElementById("post-count");
+        if (count) count.textContent = String(Number(count.textContent) + delta);
+    };
+
+    // Forms marked data-fragment ask the server for just the changed markup (HX-Request header)
+    document.addEventListener("submit", function (event) {
+        const form = event.target.closest("form[data-fragment]");
+        if (!form || !postList) return;
+
+        event.preventDefault();
+        fetch(form.action, {
+            method: "POST",
+            body: new URLSearchParams(new FormData(form)),
+            headers: { "HX-Request": "true", "Accept": "text/html" }
+        })
+            .then(response => {
+                if (response.redirected) {
+                    window.location.href = response.url; // e.g. the session expired
+                    return;
+                }
+                return response.text().then(html => {
+                    if (!response.ok) {
+                        replaceAlerts(html);
+                    } else if (form.dataset.fragment === "prepend") {
+                        postList.insertAdjacentHTML("afterbegin", html);
+                        document.getElementById("no-posts")?.remove();
+                        form.reset();
+                        adjustCount(1);
+                    } else if (form.dataset.fragment === "replace") {
+                        form.closest(".reactions").outerHTML = html;
+                    } else if (form.dataset.fragment === "remove") {
+                        form.closest(".post").remove();
+                        replaceAlerts(html);
+                        adjustCount(-1);
+                    }
+                });
+            })
+            .catch(() => form.submit());
     });
+
+    // Same buckets as RelativeTime on the server; keeps labels current on long-open or 304'd pages
+    const timeAgo = createdAt => {
+        const minutes = Math.max(0, Math.floor((Date.now() - createdAt) / 60000));
+        if (minutes < 1) return "Just now";
+        if (minutes < 60) return minutes + " minute(s) ago";
+        const hours = Math.floor(minutes / 60);
+        if (hours < 24) return hours + " hour(s) ago";
+        return Math.floor(hours / 24) + " day(s) ago";
+    };
+
+    const refreshTimes = () => document.querySelectorAll(".time-ago[data-created]").forEach(label => {
+        label.textContent = timeAgo(Number(label.dataset.created));
+    });
+
+    refreshTimes();
+    setInterval(refreshTimes, 60000);
 });
@@ -0,0 +1,114 @@
+package com.group.a.social_media_app.config;
+
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.group.a.social_media_app.service.PostService;
+import com.group.a.social_media_app.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+
+// Two in-memory H2 databases stand in for the primary and its replica; database() tells them
+// apart. The replica has no tables, so anything routed there by mistake fails loudly.
+@SpringBootTest(properties = {
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:social_app_replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(databaseIn(true)).isEqualTo("social_app_replica");
+        assertThat(databaseIn(false)).isEqualTo("social_app_test");
+        assertThat(jdbcTemplate.queryForObject("select database()", String.class)).isEqualTo("social_app_test");
+    }
+
+    @Test
+    void readsAfterACommittedWriteStayOnThePrimary() {
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.open(false, null)) {
+            assertThat(databaseIn(true)).isEqualTo("social_app_replica");
+            databaseIn(false);
+            assertThat(databaseIn(true)).isEqualTo("social_app_test");
+        }
+        assertThat(databaseIn(true)).isEqualTo("social_app_replica");
+    }
+
+    @Test
+    void writingRequestsSetTheReadYourWritesCookie() throws Exception {
+        User saved = userRepository.save(User.builder()
+                .email("replica@example.com")
+                .password("{noop}secret1")
+                .firstName("Read")
+                .lastName("Replica")
+                .build());
+        try {
+            mockMvc.perform(post("/posts/create").with(user(new CustomUserPrincipal(saved))).param("content", "Hello"))
+                    .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME));
+        } finally {
+            postRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void cacheLoadsReadFromThePrimary() {
+        User saved = userRepository.save(User.builder()
+                .email("cached@example.com")
+                .password("{noop}secret1")
+                .firstName("Cached")
+                .lastName("Reader")
+                .build());
+        Post post = postRepository.save(Post.builder().content("Fresh").user(saved).build());
+        try {
+            // No read-your-writes scope here, so any other read-only transaction would use the replica
+            assertThat(postService.findById(post.getId())).map(Post::getContent).contains("Fresh");
+            assertThat(userService.findByEmail("cached@example.com")).isPresent();
+            assertThat(postService.getPostCountByUser(saved)).isZero();
+        } finally {
+            postRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+}
@@ -0,0 +1,75 @@
+package com.group.a.social_media_app.controller;
+
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CurrentUserQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private CustomUserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        User saved = userRepository.save(User.builder()
+                .email("ada@example.com")
+                .password("{noop}secret1")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .build());
+        principal = new CustomUserPrincipal(saved);
+        SqlStatementRecorder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void homeRendersWithoutLookingUpTheUser() throws Exception {
+        mockMvc.perform(get("/home").with(user(principal)))
+                .andExpect(status().isOk());
+
+        assertThat(SqlStatementRecorder.countSelectsFrom("users")).isZero();
+    }
+
+    @Test
+    void createPostWritesWithoutLookingUpTheUser() throws Exception {
+        mockMvc.perform(post("/posts/create").with(user(principal)).param("content", "Hello"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/home"));
+
+        assertThat(SqlStatementRecorder.countSelectsFrom("users")).isZero();
+        assertThat(SqlStatementRecorder.statements()).anyMatch(sql -> sql.startsWith("insert into posts"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.group.a.social_media_app.controller;
+
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HomePageCachingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private CustomUserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        User saved = userRepository.save(User.builder()
+                .email("grace@example.com")
+                .password("{noop}secret1")
+                .firstName("Grace")
+                .lastName("Hopper")
+                .build());
+        principal = new CustomUserPrincipal(saved);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unchangedHomePageIsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/home").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/home").with(user(principal)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/posts/create").with(user(principal)).param("content", "Fresh post"));
+
+        mockMvc.perform(get("/home").with(user(principal)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void fragmentRequestsReturnOnlyTheChangedMarkup() throws Exception {
+        String html = mockMvc.perform(post("/posts/create").with(user(principal))
+                        .header(PostController.FRAGMENT_HEADER, "true")
+                        .param("content", "Swapped in place"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string(containsString("Swapped in place")))
+                .andExpect(content().string(containsString("Grace Hopper")))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(html).doesNotContain("<html").startsWith("<div class=\"post\"");
+
+        Long postId = postRepository.findAll().get(0).getId();
+        mockMvc.perform(post("/posts/delete/" + postId).with(user(principal))
+                        .header(PostController.FRAGMENT_HEADER, "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Post deleted.")));
+        assertThat(postRepository.count()).isZero();
+
+        mockMvc.perform(post("/posts/create").with(user(principal))
+                        .header(PostController.FRAGMENT_HEADER, "true")
+                        .param("content", ""))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().string(containsString("Post content is required")));
+    }
+}
@@ -0,0 +1,129 @@
+package com.group.a.social_media_app.controller;
+
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostApiTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private CustomUserPrincipal author;
+    private CustomUserPrincipal stranger;
+
+    @BeforeEach
+    void setUp() {
+        author = new CustomUserPrincipal(userRepository.save(account("api@example.com", "Api")));
+        stranger = new CustomUserPrincipal(userRepository.save(account("other@example.com", "Other")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void postsCanBeCreatedReadUpdatedAndDeleted() throws Exception {
+        String location = mockMvc.perform(post("/api/v1/posts").with(user(author))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Hello API\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, startsWith("http://localhost/api/v1/posts/")))
+                .andExpect(jsonPath("$.content").value("Hello API"))
+                .andExpect(jsonPath("$.author").value("Api User"))
+                .andExpect(jsonPath("$.createdAt").isNumber())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        String listed = mockMvc.perform(get("/api/v1/posts").with(user(author)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].content").value("Hello API"))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()))
+                .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(listed, "$.posts[0].id");
+
+        mockMvc.perform(put(location).with(user(author))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Edited\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(location).with(user(author)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.longValue()))
+                .andExpect(jsonPath("$.content").value("Edited"));
+        mockMvc.perform(get(location).with(user(stranger)))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(delete(location).with(user(stranger)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete(location).with(user(author)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(location).with(user(author)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidBodiesAndAnonymousCallersGetJsonErrors() throws Exception {
+        mockMvc.perform(post("/api/v1/posts").with(user(author))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(startsWith("content:")));
+
+        mockMvc.perform(get("/api/v1/posts"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void undecodableCursorsAreRejectedInsteadOfRestartingFromTheTop() throws Exception {
+        mockMvc.perform(get("/api/v1/posts").with(user(author)).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid cursor: not-a-cursor"));
+
+        mockMvc.perform(get("/posts/feed").with(user(author)).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/timeline/feed").with(user(author)).param("cursor", "12x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static User account(String email, String firstName) {
+        return User.builder()
+                .email(email)
+                .password("{noop}secret1")
+                .firstName(firstName)
+                .lastName("User")
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.group.a.social_media_app.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private CustomUserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        User author = userRepository.save(User.builder()
+                .email("edsger@example.com")
+                .password("{noop}secret1")
+                .firstName("Edsger")
+                .lastName("Dijkstra")
+                .build());
+        User other = userRepository.save(User.builder()
+                .email("other@example.com")
+                .password("{noop}secret1")
+                .firstName("Other")
+                .lastName("Author")
+                .build());
+        postRepository.save(Post.builder().content("plain").user(author).build());
+        postRepository.save(Post.builder().content("says \"hi\", then\nleaves").user(author).build());
+        postRepository.save(Post.builder().content("not mine").user(other).build());
+        principal = new CustomUserPrincipal(author);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void csvExportQuotesAndEscapesFields() throws Exception {
+        String body = mockMvc.perform(get("/posts/export").param("format", "csv").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"posts.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,author,created_at,updated_at,content");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).endsWith(",plain");
+        assertThat(lines[2]).endsWith(",\"says \"\"hi\"\", then\nleaves\"");
+        assertThat(body).doesNotContain("not mine");
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws Exception {
+        String body = mockMvc.perform(get("/posts/export").with(user(principal)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("content").asText()).isEqualTo("says \"hi\", then\nleaves");
+        assertThat(second.get("author").asText()).isEqualTo("Edsger Dijkstra");
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/posts/export").param("format", "xml").with(user(principal)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,189 @@
+package com.group.a.social_media_app.event;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.OutboxEvent;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.search.PostSearchIndex;
+import com.group.a.social_media_app.search.SearchHit;
+import com.group.a.social_media_app.service.PostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.outbox.initial-backoff=PT0.2S")
+@ActiveProfiles("test")
+class OutboxDispatcherTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private FailingConsumer failingConsumer;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        failingConsumer.remaining.set(0);
+        author = userRepository.save(User.builder()
+                .email("outbox@example.com")
+                .password("{noop}secret1")
+                .firstName("Outbox")
+                .lastName("Author")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void eventsAreDeliveredOnceAndKeptUntilPruned() {
+        Post post = postService.createPost(PostDTO.builder().content("zebracorn sighting").build(), author);
+
+        assertThat(outboxEventRepository.findAll()).singleElement()
+                .satisfies(event -> assertThat(event.toPostEvent()).isEqualTo(new PostEvent.PostCreated(post.getId(), author.getId())));
+        assertThat(postSearchIndex.search("zebracorn", null, 10)).isEmpty();
+
+        assertThat(outboxDispatcher.drain()).isEqualTo(1);
+        assertThat(outboxDispatcher.drain()).isZero();
+
+        assertThat(postSearchIndex.search("zebracorn", null, 10)).extracting(SearchHit::postId).containsExactly(post.getId());
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        event.setCreatedAt(LocalDateTime.now().minusHours(2));
+        outboxEventRepository.save(event);
+        outboxDispatcher.prune();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void everyNodeReceivesEveryEvent() {
+        List<PostEvent> received = new CopyOnWriteArrayList<>();
+        OutboxDispatcher otherNode = new OutboxDispatcher(outboxEventRepository, List.of(received::addAll),
+                outboxProperties, transactionManager, new SimpleMeterRegistry());
+        Post post = postService.createPost(PostDTO.builder().content("for everyone").build(), author);
+
+        assertThat(outboxDispatcher.drain()).isEqualTo(1);
+        assertThat(otherNode.drain()).isEqualTo(1);
+
+        assertThat(received).containsExactly(new PostEvent.PostCreated(post.getId(), author.getId()));
+    }
+
+    @Test
+    void eventsThatCommitAfterNewerOnesAreStillDelivered() {
+        postService.createPost(PostDTO.builder().content("quick").build(), author);
+        assertThat(outboxDispatcher.drain()).isEqualTo(1);
+
+        // Stamped before the event above but committed after it, as a slow transaction would be
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.save(
+                OutboxEvent.of(new PostEvent.PostUpdated(42L, author.getId()), LocalDateTime.now().minusSeconds(10))));
+
+        assertThat(outboxDispatcher.drain()).isEqualTo(1);
+        assertThat(outboxDispatcher.drain()).isZero();
+    }
+
+    @Test
+    void eventsAreStampedWhenTheirTransactionCommits() {
+        AtomicReference<LocalDateTime> published = new AtomicReference<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            postService.createPost(PostDTO.builder().content("slow import").build(), author);
+            published.set(LocalDateTime.now());
+            assertThat(outboxEventRepository.count()).isZero();
+            // The rest of a long transaction; a stamp taken at publish time would fall this far behind
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(outboxEventRepository.findAll()).singleElement()
+                .satisfies(event -> assertThat(event.getCreatedAt()).isAfterOrEqualTo(published.get().plusNanos(200_000_000)));
+        assertThat(outboxDispatcher.drain()).isEqualTo(1);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedAfterBackoff() throws InterruptedException {
+        failingConsumer.remaining.set(1);
+        postService.createPost(PostDTO.builder().content("retry me").build(), author);
+
+        assertThat(outboxDispatcher.drain()).isZero();
+        assertThat(outboxDispatcher.drain()).isZero();
+
+        Thread.sleep(outboxProperties.getInitialBackoff().toMillis() + 50);
+
+        assertThat(outboxDispatcher.drain()).isEqualTo(1);
+        assertThat(outboxDispatcher.drain()).isZero();
+    }
+
+    static class FailingConsumer implements PostEventConsumer {
+
+        final AtomicInteger remaining = new AtomicInteger();
+
+        @Override
+        public void onPostEvents(List<PostEvent> events) {
+            if (remaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("consumer unavailable");
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class FailingConsumerConfig {
+
+        @Bean
+        FailingConsumer failingConsumer() {
+            return new FailingConsumer();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.group.a.social_media_app.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the embedded Tomcat, since MockMvc bypasses the RemoteIpValve that resolves
+ * forwarded addresses. Requests come from 127.0.0.1, which counts as a trusted proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.limits.login.capacity=2",
+        "app.rate-limit.limits.login.period=PT1H"
+})
+@ActiveProfiles("test")
+class ForwardedClientAddressTests {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void clientsBehindTheSameProxyAreLimitedSeparately() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(signIn("203.0.113.10")).isEqualTo(302);
+        }
+        assertThat(signIn("203.0.113.10")).isEqualTo(429);
+
+        assertThat(signIn("203.0.113.20")).isEqualTo(302);
+    }
+
+    @Test
+    void addressesPrependedByTheClientAreIgnored() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(signIn("198.51.100." + i + ", 203.0.113.30")).isEqualTo(302);
+        }
+        assertThat(signIn("198.51.100.9, 203.0.113.30")).isEqualTo(429);
+    }
+
+    private int signIn(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("X-Forwarded-For", forwardedFor)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=nobody%40example.com&password=wrong"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
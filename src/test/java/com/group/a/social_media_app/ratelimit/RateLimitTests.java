@@ -0,0 +1,126 @@
+package com.group.a.social_media_app.ratelimit;
+
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.limits.post-create.capacity=2",
+        "app.rate-limit.limits.post-create.period=PT1H",
+        "app.rate-limit.limits.post-import.capacity=3",
+        "app.rate-limit.limits.post-import.period=PT1H",
+        "app.rate-limit.limits.login.capacity=2",
+        "app.rate-limit.limits.login.period=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void postCreationIsLimitedPerUser() throws Exception {
+        CustomUserPrincipal author = new CustomUserPrincipal(userRepository.save(account("busy@example.com")));
+        CustomUserPrincipal other = new CustomUserPrincipal(userRepository.save(account("calm@example.com")));
+
+        mockMvc.perform(post("/posts/create").with(user(author)).param("content", "One"))
+                .andExpect(status().is3xxRedirection());
+        mockMvc.perform(post("/api/v1/posts").with(user(author))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"content\":\"Two\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/posts/create").with(user(author)).param("content", "Three"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1800"));
+        mockMvc.perform(post("/api/v1/posts").with(user(author))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"content\":\"Four\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429));
+        mockMvc.perform(post("/posts/create").with(user(other)).param("content", "Mine"))
+                .andExpect(status().is3xxRedirection());
+
+        assertThat(postRepository.count()).isEqualTo(3);
+        assertThat(requests(RateLimiter.POST_CREATE, "throttled")).isEqualTo(2);
+        assertThat(requests(RateLimiter.POST_CREATE, "allowed")).isEqualTo(3);
+    }
+
+    @Test
+    void importsAreChargedPerPost() throws Exception {
+        CustomUserPrincipal author = new CustomUserPrincipal(userRepository.save(account("bulk@example.com")));
+
+        mockMvc.perform(post("/posts/import").with(user(author)).contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"content\":\"One\"},{\"content\":\"Two\"}]"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/posts/import").with(user(author)).contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"content\":\"Three\"},{\"content\":\"Four\"}]"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/posts/import").with(user(author)).contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"content\":\"Five\"}]"))
+                .andExpect(status().isCreated());
+
+        assertThat(postRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void signInIsLimitedPerClientAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/login").param("username", "nobody@example.com").param("password", "wrong"))
+                    .andExpect(status().is3xxRedirection());
+        }
+        mockMvc.perform(post("/login").param("username", "nobody@example.com").param("password", "wrong"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(post("/auth/token").param("username", "nobody@example.com").param("password", "wrong"))
+                .andExpect(status().isTooManyRequests());
+
+        assertThat(requests(RateLimiter.LOGIN, "throttled")).isEqualTo(2);
+    }
+
+    private double requests(String limit, String outcome) {
+        return meterRegistry.get("app.rate-limit.requests").tag("limit", limit).tag("outcome", outcome).counter().count();
+    }
+
+    private static User account(String email) {
+        return User.builder()
+                .email(email)
+                .password("{noop}secret1")
+                .firstName("Rate")
+                .lastName("Limited")
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.group.a.social_media_app.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTableTests {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void allowsABurstThenRefillsOneTokenPerInterval() {
+        TokenBucketTable buckets = new TokenBucketTable(3, Duration.ofSeconds(3), 64, clock::get);
+
+        assertThat(buckets.tryAcquire(7)).isZero();
+        assertThat(buckets.tryAcquire(7)).isZero();
+        assertThat(buckets.tryAcquire(7)).isZero();
+        assertThat(buckets.tryAcquire(7)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        // Refused requests take nothing, so the wait does not grow
+        assertThat(buckets.tryAcquire(7)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(buckets.tryAcquire(8)).isZero();
+
+        advance(Duration.ofMillis(1000));
+        assertThat(buckets.tryAcquire(7)).isZero();
+        assertThat(buckets.tryAcquire(7)).isPositive();
+
+        advance(Duration.ofHours(1));
+        for (int i = 0; i < 3; i++) assertThat(buckets.tryAcquire(7)).isZero();
+    }
+
+    @Test
+    void takesSeveralTokensAtOnceOrNone() {
+        TokenBucketTable buckets = new TokenBucketTable(4, Duration.ofSeconds(4), 64, clock::get);
+
+        assertThat(buckets.tryAcquire(7, 3)).isZero();
+        assertThat(buckets.tryAcquire(7, 2)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(buckets.tryAcquire(7, 1)).isZero();
+        assertThat(buckets.tryAcquire(8, 5)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void reusesTheIdlestBucketOnceAStripeIsFull() {
+        // A single stripe, so every key competes for the same slots
+        TokenBucketTable buckets = new TokenBucketTable(1, Duration.ofMinutes(1), TokenBucketTable.STRIPE_SLOTS, clock::get);
+
+        for (long key = 1; key <= TokenBucketTable.STRIPE_SLOTS; key++) {
+            assertThat(buckets.tryAcquire(key)).isZero();
+            advance(Duration.ofSeconds(1));
+        }
+        // Key 1 drained first and is the closest to full, so the newcomer takes its slot
+        assertThat(buckets.tryAcquire(100)).isZero();
+        assertThat(buckets.evictions()).isEqualTo(1);
+        assertThat(buckets.tryAcquire(2)).isPositive();
+
+        advance(Duration.ofMinutes(2));
+        assertThat(buckets.tryAcquire(200)).isZero();
+        assertThat(buckets.evictions()).isEqualTo(1);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
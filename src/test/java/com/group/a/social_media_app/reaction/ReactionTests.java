@@ -0,0 +1,278 @@
+package com.group.a.social_media_app.reaction;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.PostReactionCount;
+import com.group.a.social_media_app.entity.ReactionType;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.entity.UserStats;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostReactionCountRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.ReactionRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import com.group.a.social_media_app.service.PostService;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A long flush interval keeps the scheduler out of the way; the tests flush explicitly
+@SpringBootTest(properties = "app.reactions.flush-interval=PT1H")
+@ActiveProfiles("test")
+class ReactionTests {
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private ReactionCounter reactionCounter;
+
+    @Autowired
+    private ReactionCountReconciler reactionCountReconciler;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private PostReactionCountRepository postReactionCountRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User author;
+    private User fan;
+
+    @BeforeEach
+    void setUp() {
+        author = account("author@example.com");
+        fan = account("reactor@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactionCounter.flush();
+        reactionRepository.deleteAll();
+        postReactionCountRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userStatsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void countsShowBeforeTheyAreFlushedAndFlushAsOneRowPerType() {
+        Post post = postService.createPost(PostDTO.builder().content("Viral").build(), author);
+        SqlStatementRecorder.clear();
+
+        assertThat(reactionService.toggle(post.getId(), fan.getId(), ReactionType.LIKE)).isTrue();
+        assertThat(reactionService.toggle(post.getId(), author.getId(), ReactionType.LIKE)).isTrue();
+        assertThat(reactionService.toggle(post.getId(), fan.getId(), ReactionType.WOW)).isTrue();
+
+        assertThat(SqlStatementRecorder.statements()).noneMatch(sql -> sql.contains("post_reaction_counts"));
+        assertThat(counts(post.getId())).containsExactlyInAnyOrderEntriesOf(Map.of(ReactionType.LIKE, 2L, ReactionType.WOW, 1L));
+
+        reactionCounter.flush();
+        assertThat(storedCount(post.getId(), ReactionType.LIKE)).isEqualTo(2);
+        assertThat(storedCount(post.getId(), ReactionType.WOW)).isEqualTo(1);
+
+        assertThat(reactionService.toggle(post.getId(), fan.getId(), ReactionType.LIKE)).isFalse();
+        assertThat(counts(post.getId())).containsEntry(ReactionType.LIKE, 1L);
+        reactionCounter.flush();
+        assertThat(storedCount(post.getId(), ReactionType.LIKE)).isEqualTo(1);
+        assertThat(reactionRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentReactionsAreNeitherLostNorCountedTwice() throws Exception {
+        long postId = 1_000_000L;
+        int threads = 8;
+        int perThread = 20_000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // Flushes race the writers, retiring and re-creating the post's pending entry
+            Future<?> flusher = pool.submit(() -> {
+                while (running.get()) reactionCounter.flush();
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) reactionCounter.add(postId, ReactionType.LOVE, 1);
+                }));
+            }
+            for (Future<?> writer : writers) writer.get();
+            running.set(false);
+            flusher.get();
+        } finally {
+            pool.shutdownNow();
+        }
+        reactionCounter.flush();
+
+        long expected = (long) threads * perThread;
+        assertThat(storedCount(postId, ReactionType.LOVE)).isEqualTo(expected);
+        assertThat(counts(postId)).containsEntry(ReactionType.LOVE, expected);
+    }
+
+    @Test
+    void readsDuringAFlushNeitherMissNorDoubleCountTheDrainedDeltas() throws Exception {
+        long cachedPost = 2_000_000L;
+        long uncachedPost = 2_000_001L;
+        AtomicBoolean blocking = new AtomicBoolean();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Parks the flush inside its transaction, after the drain and before the commit
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (blocking.get() && sql.startsWith("update")) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+        ReactionCounter counter = new ReactionCounter(postReactionCountRepository, jdbc, transactionManager,
+                cacheManager, new SimpleMeterRegistry());
+        counter.add(cachedPost, ReactionType.LIKE, 1);
+        counter.flush();
+        assertThat(counter.counts(List.of(cachedPost)).get(cachedPost)).containsEntry(ReactionType.LIKE, 1L);
+
+        counter.add(cachedPost, ReactionType.LIKE, 2);
+        counter.add(uncachedPost, ReactionType.WOW, 1);
+        blocking.set(true);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> flush = pool.submit(counter::flush);
+            assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // The drained delta has already moved into the cached totals
+            assertThat(counter.counts(List.of(cachedPost)).get(cachedPost)).containsEntry(ReactionType.LIKE, 3L);
+            // A miss waits for the commit rather than caching the table as it was before it
+            Future<Map<Long, Map<ReactionType, Long>>> miss = pool.submit(() -> counter.counts(List.of(uncachedPost)));
+            Thread.sleep(200);
+            assertThat(miss).isNotDone();
+
+            release.countDown();
+            flush.get(10, TimeUnit.SECONDS);
+            assertThat(miss.get(10, TimeUnit.SECONDS).get(uncachedPost)).containsEntry(ReactionType.WOW, 1L);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        assertThat(counter.counts(List.of(cachedPost, uncachedPost)))
+                .containsEntry(cachedPost, Map.of(ReactionType.LIKE, 3L))
+                .containsEntry(uncachedPost, Map.of(ReactionType.WOW, 1L));
+        assertThat(storedCount(cachedPost, ReactionType.LIKE)).isEqualTo(3);
+    }
+
+    @Test
+    void deletingAPostRemovesItsReactionsAndCounts() {
+        Post post = postService.createPost(PostDTO.builder().content("Short-lived").build(), author);
+        reactionService.toggle(post.getId(), fan.getId(), ReactionType.LAUGH);
+        reactionCounter.flush();
+
+        postService.deletePost(postService.findById(post.getId()).orElseThrow());
+
+        assertThat(reactionRepository.count()).isZero();
+        assertThat(postReactionCountRepository.count()).isZero();
+        assertThat(counts(post.getId())).isEmpty();
+    }
+
+    @Test
+    void reconciliationRecountsSettledPostsAndLeavesRecentOnesAlone() {
+        Post settled = postService.createPost(PostDTO.builder().content("Old news").build(), author);
+        Post recent = postService.createPost(PostDTO.builder().content("Breaking").build(), author);
+        reactionService.toggle(settled.getId(), fan.getId(), ReactionType.LIKE);
+        reactionService.toggle(settled.getId(), author.getId(), ReactionType.LIKE);
+        reactionService.toggle(recent.getId(), fan.getId(), ReactionType.WOW);
+        reactionCounter.flush();
+        assertThat(counts(settled.getId())).containsExactlyInAnyOrderEntriesOf(Map.of(ReactionType.LIKE, 2L));
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // A reaction whose delta died with its node, and a count that drifted
+        jdbc.update("insert into reactions (post_id, user_id, reaction_type, created_at) values (?, ?, ?, ?)",
+                settled.getId(), fan.getId(), ReactionType.LAUGH.name(), LocalDateTime.now());
+        jdbc.update("update post_reaction_counts set reaction_count = 5 where post_id = ?", settled.getId());
+        jdbc.update("update post_reaction_counts set reaction_count = 5 where post_id = ?", recent.getId());
+        jdbc.update("update reactions set created_at = ? where post_id = ?",
+                LocalDateTime.now().minusHours(1), settled.getId());
+
+        reactionCountReconciler.reconcile();
+
+        assertThat(storedCount(settled.getId(), ReactionType.LIKE)).isEqualTo(2);
+        assertThat(storedCount(settled.getId(), ReactionType.LAUGH)).isEqualTo(1);
+        assertThat(storedCount(recent.getId(), ReactionType.WOW)).isEqualTo(5);
+        assertThat(counts(settled.getId()))
+                .containsExactlyInAnyOrderEntriesOf(Map.of(ReactionType.LIKE, 2L, ReactionType.LAUGH, 1L));
+    }
+
+    private Map<ReactionType, Long> counts(Long postId) {
+        return reactionCounter.counts(List.of(postId)).get(postId);
+    }
+
+    private long storedCount(Long postId, ReactionType type) {
+        return postReactionCountRepository.findById(new PostReactionCount.Key(postId, type))
+                .map(PostReactionCount::getCount)
+                .orElse(0L);
+    }
+
+    private User account(String email) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password("{noop}secret1")
+                .firstName("Reaction")
+                .lastName("Tester")
+                .build());
+        userStatsRepository.save(UserStats.builder().userId(user.getId()).build());
+        return user;
+    }
+}
@@ -0,0 +1,49 @@
+package com.group.a.social_media_app.search;
+
+import com.group.a.social_media_app.dto.SearchCursor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryPostSearchIndexTests {
+
+    // Only the startup rebuild reads the repository
+    private final InMemoryPostSearchIndex index = new InMemoryPostSearchIndex(null);
+
+    @Test
+    void everyTermMustMatchAndScoresSumTermFrequencies() {
+        index.index(1, "Coffee and cake");
+        index.index(2, "coffee, coffee and more COFFEE");
+        index.index(3, "Tea and cake");
+
+        assertThat(index.search("coffee cake", null, 10)).containsExactly(new SearchHit(1, 2));
+        assertThat(index.search("COFFEE", null, 10)).containsExactly(new SearchHit(2, 3), new SearchHit(1, 1));
+        assertThat(index.search("coffee biscuits", null, 10)).isEmpty();
+        assertThat(index.search("  ...  ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesAndRemovingDropsAPost() {
+        index.index(1, "old words");
+        index.index(1, "new words");
+        index.index(2, "other words");
+
+        assertThat(index.search("old", null, 10)).isEmpty();
+        assertThat(index.search("new", null, 10)).containsExactly(new SearchHit(1, 1));
+
+        index.remove(1);
+        assertThat(index.search("words", null, 10)).containsExactly(new SearchHit(2, 1));
+    }
+
+    @Test
+    void cursorContinuesAfterTheLastHitAcrossEqualScores() {
+        index.index(1, "plum plum");
+        index.index(2, "plum");
+        index.index(3, "plum");
+        index.index(4, "plum");
+
+        assertThat(index.search("plum", null, 2)).containsExactly(new SearchHit(1, 2), new SearchHit(4, 1));
+        assertThat(index.search("plum", new SearchCursor(1, 4), 2)).containsExactly(new SearchHit(3, 1), new SearchHit(2, 1));
+        assertThat(index.search("plum", new SearchCursor(1, 2), 2)).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.group.a.social_media_app.search;
+
+import com.group.a.social_media_app.dto.FeedPage;
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.event.OutboxDispatcher;
+import com.group.a.social_media_app.exception.InvalidCursorException;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.group.a.social_media_app.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostSearchTests {
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .email("search@example.com")
+                .password("{noop}secret1")
+                .firstName("Search")
+                .lastName("Author")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void bestMatchesComeFirst() {
+        List<Long> ids = index(List.of("quince", "quince quince quince", "quince quince"));
+
+        assertThat(postSearchService.search("Quince", null).getPosts())
+                .extracting(PostDTO::getId)
+                .containsExactly(ids.get(1), ids.get(2), ids.get(0));
+    }
+
+    @Test
+    void pagesContinueAcrossEqualScoresWithoutGapsOrRepeats() {
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i < PostSearchService.PAGE_SIZE + 5; i++) contents.add("loquat " + i);
+        List<Long> ids = index(contents);
+
+        FeedPage first = postSearchService.search("loquat", null);
+        assertThat(first.getPosts()).hasSize(PostSearchService.PAGE_SIZE);
+        assertThat(first.getNextCursor()).isNotNull();
+        FeedPage second = postSearchService.search("loquat", first.getNextCursor());
+        assertThat(second.getNextCursor()).isNull();
+
+        List<Long> paged = new ArrayList<>();
+        first.getPosts().forEach(post -> paged.add(post.getId()));
+        second.getPosts().forEach(post -> paged.add(post.getId()));
+        // Equal scores fall back to newest id first
+        assertThat(paged).isEqualTo(ids.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    void undecodableCursorsAreRejectedInsteadOfRestartingFromTheTop() throws Exception {
+        assertThatThrownBy(() -> postSearchService.search("loquat", "not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+
+        mockMvc.perform(get("/posts/search").with(user(new CustomUserPrincipal(author)))
+                        .param("q", "loquat").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> index(List<String> contents) {
+        List<Long> ids = postService.createPosts(contents.stream()
+                .map(content -> PostDTO.builder().content(content).build())
+                .toList(), author);
+        outboxDispatcher.drain();
+        return ids;
+    }
+}
@@ -0,0 +1,150 @@
+package com.group.a.social_media_app.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.AccountLifecycleService;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.security.mode=token",
+        "app.security.token.secret=c2VjcmV0LWtleS1mb3ItdG9rZW4tdGVzdHMtMzItYnl0ZXMhIQ=="
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenAuthenticationTests {
+
+    private static final String EMAIL = "alan@example.com";
+    private static final String PASSWORD = "secret1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AccountLifecycleService accountLifecycleService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .password(passwordEncoder.encode(PASSWORD))
+                .firstName("Alan")
+                .lastName("Turing")
+                .build());
+        cacheManager.getCache(CacheConfig.USER_DETAILS).clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void bearerTokenAuthenticatesWithoutDatabaseOrSession() throws Exception {
+        JsonNode tokens = issueTokens();
+        SqlStatementRecorder.clear();
+
+        MvcResult result = mockMvc.perform(get("/home")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get("accessToken").asText()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(SqlStatementRecorder.countSelectsFrom("users")).isZero();
+        assertThat(result.getRequest().getSession(false)).isNull();
+    }
+
+    @Test
+    void tamperedOrRefreshTokensAreNotAccessTokens() throws Exception {
+        JsonNode tokens = issueTokens();
+        String access = tokens.get("accessToken").asText();
+        String tampered = access.substring(0, access.length() - 2) + (access.endsWith("AA") ? "BB" : "AA");
+
+        mockMvc.perform(get("/home").header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(get("/home").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get("refreshToken").asText()))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void refreshTokenIssuesNewPairUntilTheAccountIsDeactivated() throws Exception {
+        String refresh = issueTokens().get("refreshToken").asText();
+
+        mockMvc.perform(post("/auth/refresh").param("refreshToken", refresh))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("accessToken")));
+
+        accountLifecycleService.deactivate(EMAIL);
+        mockMvc.perform(post("/auth/refresh").param("refreshToken", refresh))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void formLoginSetsCookiesAndFlashMessagesSurviveWithoutSession() throws Exception {
+        MvcResult login = mockMvc.perform(post("/login").param("username", EMAIL).param("password", PASSWORD))
+                .andExpect(redirectedUrl("/home"))
+                .andReturn();
+        assertThat(login.getRequest().getSession(false)).isNull();
+        Cookie access = login.getResponse().getCookie("ACCESS_TOKEN");
+        assertThat(access).isNotNull();
+
+        MockHttpServletResponse created = mockMvc.perform(post("/posts/create").cookie(access).param("content", "Hi"))
+                .andExpect(redirectedUrl("/home"))
+                .andReturn().getResponse();
+        Cookie flash = created.getCookie(CookieFlashMapManager.COOKIE);
+        assertThat(flash).isNotNull();
+
+        mockMvc.perform(get("/home").cookie(access, flash))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Post created successfully!")));
+    }
+
+    private JsonNode issueTokens() throws Exception {
+        String body = mockMvc.perform(post("/auth/token").param("username", EMAIL).param("password", PASSWORD))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,132 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.dto.AccountPurgeProgress;
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.entity.UserStats;
+import com.group.a.social_media_app.repository.FollowRepository;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.accounts.purge-chunk-size=4")
+@ActiveProfiles("test")
+class AccountLifecycleTests {
+
+    @Autowired
+    private AccountLifecycleService accountLifecycleService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        followRepository.deleteAll();
+        postRepository.deleteAll();
+        userStatsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deactivationIsOneUpdateWithoutLoadingTheUser() {
+        User user = account("leaving@example.com");
+        SqlStatementRecorder.clear();
+
+        assertThat(accountLifecycleService.deactivate(user.getEmail())).isTrue();
+
+        assertThat(SqlStatementRecorder.countSelectsFrom("users")).isZero();
+        assertThat(SqlStatementRecorder.statements()).filteredOn(sql -> sql.startsWith("update users")).hasSize(1);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getIsActive()).isFalse();
+        assertThat(accountLifecycleService.deactivate(user.getEmail())).isFalse();
+    }
+
+    @Test
+    void deletionRemovesPostsAndFollowsInChunksThenTheUser() throws Exception {
+        User leaving = account("gone@example.com");
+        User friend = account("friend@example.com");
+        User fan = account("fan@example.com");
+        postService.createPosts(IntStream.range(0, 10).mapToObj(i -> post("Post " + i)).toList(), leaving);
+        postService.createPosts(List.of(post("Staying")), friend);
+        followService.follow(leaving.getId(), friend.getId());
+        followService.follow(friend.getId(), leaving.getId());
+        followService.follow(fan.getId(), leaving.getId());
+        followService.follow(fan.getId(), friend.getId());
+        outboxEventRepository.deleteAll();
+        SqlStatementRecorder.clear();
+
+        assertThat(accountLifecycleService.requestDeletion(leaving.getId())).isPresent();
+        AccountPurgeProgress progress = awaitPurge(leaving.getId());
+
+        assertThat(progress.state()).isEqualTo(AccountPurgeProgress.State.COMPLETED);
+        assertThat(progress.postsDeleted()).isEqualTo(10);
+        assertThat(progress.followsDeleted()).isEqualTo(3);
+        assertThat(userRepository.existsById(leaving.getId())).isFalse();
+        assertThat(userStatsRepository.existsById(leaving.getId())).isFalse();
+        assertThat(postRepository.count()).isEqualTo(1);
+        assertThat(followRepository.count()).isEqualTo(1);
+        // One outbox event per removed post, so the search index drops them too
+        assertThat(outboxEventRepository.count()).isEqualTo(10);
+        assertThat(SqlStatementRecorder.statements()).filteredOn(sql -> sql.startsWith("delete from posts")).hasSize(3);
+        assertThat(userRepository.existsById(friend.getId())).isTrue();
+    }
+
+    @Test
+    void deletingAnUnknownUserIsEmpty() {
+        assertThat(accountLifecycleService.requestDeletion(-1L)).isEmpty();
+    }
+
+    private AccountPurgeProgress awaitPurge(Long userId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            AccountPurgeProgress progress = accountLifecycleService.getPurgeProgress(userId).orElseThrow();
+            if (!progress.isPending()) return progress;
+            Thread.sleep(25);
+        }
+        throw new AssertionError("Purge of user " + userId + " did not finish");
+    }
+
+    private User account(String email) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password("{noop}secret1")
+                .firstName("Account")
+                .lastName("Holder")
+                .build());
+        userStatsRepository.save(UserStats.builder().userId(user.getId()).build());
+        return user;
+    }
+
+    private static PostDTO post(String content) {
+        return PostDTO.builder().content(content).build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomUserDetailsServiceTests {
+
+    private static final String EMAIL = "grace@example.com";
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private AccountLifecycleService accountLifecycleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .password("{noop}secret1")
+                .firstName("Grace")
+                .lastName("Hopper")
+                .isActive(true)
+                .build());
+        cacheManager.getCache(CacheConfig.USER_DETAILS).clear();
+        SqlStatementRecorder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedAuthenticationsReadTheUserOnce() {
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        assertThat(SqlStatementRecorder.countSelectsFrom("users")).isEqualTo(1);
+    }
+
+    @Test
+    void deactivationTakesEffectImmediately() {
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isTrue();
+
+        accountLifecycleService.deactivate(EMAIL);
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.dto.FeedPage;
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.group.a.social_media_app.service.PostService.FEED_PAGE_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedPaginationTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .email("pages@example.com")
+                .password("{noop}secret1")
+                .firstName("Page")
+                .lastName("Turner")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exactlyOneFullPageHasNoNextCursor() {
+        createPosts(FEED_PAGE_SIZE);
+
+        FeedPage page = postService.getFeedPage(author, null);
+
+        assertThat(page.getPosts()).hasSize(FEED_PAGE_SIZE);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pagesFollowNewestFirstWithoutGapsOrRepeats() {
+        List<Long> ids = createPosts(2 * FEED_PAGE_SIZE + 1);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("update posts set created_at = ? where id = ?", base.plusMinutes(i), ids.get(i));
+        }
+
+        List<List<Long>> pages = readAllPages();
+
+        assertThat(pages).extracting(List::size).containsExactly(FEED_PAGE_SIZE, FEED_PAGE_SIZE, 1);
+        assertThat(pages.stream().flatMap(List::stream).toList())
+                .isEqualTo(ids.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    void postsSharingATimestampAcrossAPageBoundaryAreEachShownOnce() {
+        List<Long> ids = createPosts(FEED_PAGE_SIZE + 10);
+        // One instant for the whole batch, as a bulk import produces; the id breaks the tie
+        jdbcTemplate.update("update posts set created_at = ? where user_id = ?",
+                LocalDateTime.of(2025, 1, 1, 12, 0), author.getId());
+
+        List<List<Long>> pages = readAllPages();
+
+        assertThat(pages).extracting(List::size).containsExactly(FEED_PAGE_SIZE, 10);
+        assertThat(pages.stream().flatMap(List::stream).toList())
+                .isEqualTo(ids.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    private List<List<Long>> readAllPages() {
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            FeedPage page = postService.getFeedPage(author, cursor);
+            pages.add(page.getPosts().stream().map(PostDTO::getId).toList());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private List<Long> createPosts(int count) {
+        List<PostDTO> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) posts.add(PostDTO.builder().content("post " + i).build());
+        return postService.createPosts(posts, author);
+    }
+}
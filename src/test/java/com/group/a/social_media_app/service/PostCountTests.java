@@ -0,0 +1,163 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.config.CacheConfig;
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.entity.UserStats;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PostCountTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostCountReconciler reconciler;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = account("counted@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userStatsRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.POST_COUNTS).clear();
+    }
+
+    @Test
+    void createsImportsAndDeletesAdjustTheCounter() {
+        Post first = postService.createPost(post("one"), author);
+        assertThat(postService.getPostCountByUser(author)).isEqualTo(1);
+
+        postService.createPosts(List.of(post("two"), post("three"), post("four")), author);
+        assertThat(postService.getPostCountByUser(author)).isEqualTo(4);
+
+        postService.deletePost(postService.findById(first.getId()).orElseThrow());
+        assertThat(postService.getPostCountByUser(author)).isEqualTo(3);
+        assertThat(storedCount(author)).isEqualTo(3);
+    }
+
+    @Test
+    void reconciliationRepairsDriftAndCreatesMissingRows() {
+        User unstated = account("unstated@example.com");
+        postService.createPosts(List.of(post("a"), post("b")), author);
+        postService.createPosts(List.of(post("c")), unstated);
+        jdbcTemplate.update("update user_stats set post_count = 42 where user_id = ?", author.getId());
+        userStatsRepository.deleteById(unstated.getId());
+        assertThat(postService.getPostCountByUser(author)).isEqualTo(42);
+
+        reconciler.reconcile();
+
+        assertThat(storedCount(author)).isEqualTo(2);
+        assertThat(storedCount(unstated)).isEqualTo(1);
+        assertThat(postService.getPostCountByUser(author)).isEqualTo(2);
+    }
+
+    @Test
+    void reconciliationWaitsForAnInFlightPostInsteadOfOverwritingItsIncrement() throws Exception {
+        postService.createPosts(List.of(post("a"), post("b")), author);
+        jdbcTemplate.update("update user_stats set post_count = 0 where user_id = ?", author.getId());
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // Parks a createPost between its increment and its commit
+            Future<?> creator = pool.submit(() -> transaction.executeWithoutResult(status -> {
+                postService.createPost(post("c"), author);
+                written.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> reconciliation = pool.submit(reconciler::reconcile);
+            Thread.sleep(200);
+            assertThat(reconciliation).isNotDone();
+
+            release.countDown();
+            creator.get(10, TimeUnit.SECONDS);
+            reconciliation.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        assertThat(storedCount(author)).isEqualTo(3);
+    }
+
+    private long storedCount(User user) {
+        return userStatsRepository.findPostCountByUserId(user.getId()).orElseThrow();
+    }
+
+    private static PostDTO post(String content) {
+        return PostDTO.builder().content(content).build();
+    }
+
+    private User account(String email) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password("{noop}secret1")
+                .firstName("Count")
+                .lastName("Tester")
+                .build());
+        userStatsRepository.save(UserStats.builder().userId(user.getId()).build());
+        return user;
+    }
+}
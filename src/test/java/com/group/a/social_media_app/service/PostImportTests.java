@@ -0,0 +1,128 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.OutboxEvent;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.event.PostEventType;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.group.a.social_media_app.service.PostService.IMPORT_FLUSH_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PostImportTests {
+
+    // Two full chunks and a partial one
+    private static final int POSTS = 2 * IMPORT_FLUSH_SIZE + 100;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .email("importer@example.com")
+                .password("{noop}secret1")
+                .firstName("Bulk")
+                .lastName("Importer")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void idsComeInBlocksAndMatchTheInputOrder() {
+        List<PostDTO> posts = posts(POSTS);
+        Post before = postService.createPost(PostDTO.builder().content("before").build(), author);
+        SqlStatementRecorder.clear();
+
+        List<Long> ids = postService.createPosts(posts, author);
+
+        // One sequence call per chunk rather than per post, and no lookups for the assigned ids
+        assertThat(SqlStatementRecorder.statements()).filteredOn(sql -> sql.contains("nextval")).hasSize(3);
+        assertThat(SqlStatementRecorder.countSelectsFrom("posts")).isZero();
+        assertThat(ids).hasSize(POSTS).isSorted().doesNotHaveDuplicates();
+        assertThat(ids.getFirst()).isGreaterThan(before.getId());
+        for (int i : new int[]{0, IMPORT_FLUSH_SIZE, POSTS - 1}) {
+            assertThat(postRepository.findById(ids.get(i)).orElseThrow().getContent())
+                    .isEqualTo(posts.get(i).getContent());
+        }
+
+        Post after = postService.createPost(PostDTO.builder().content("after").build(), author);
+        assertThat(after.getId()).isGreaterThan(ids.getLast());
+    }
+
+    @Test
+    void everyChunkIsFlushedAndClearedFromThePersistenceContext() {
+        SqlStatementRecorder.clear();
+
+        int managed = transactionTemplate.execute(status -> {
+            postService.createPosts(posts(POSTS), author);
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+
+        assertThat(managed).isZero();
+        // Each flush prepares the INSERT once and sends its chunk as JDBC batches
+        assertThat(SqlStatementRecorder.statements()).filteredOn(sql -> sql.startsWith("insert into posts")).hasSize(3);
+        assertThat(postRepository.countByUser(author)).isEqualTo(POSTS);
+    }
+
+    @Test
+    void eachImportedPostGetsAnOutboxRow() {
+        List<Long> ids = postService.createPosts(posts(POSTS), author);
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getEventType()).isEqualTo(PostEventType.CREATED);
+            assertThat(event.getAuthorId()).isEqualTo(author.getId());
+        });
+        assertThat(events.stream().map(OutboxEvent::getPostId).sorted(Comparator.naturalOrder()).toList())
+                .isEqualTo(ids);
+    }
+
+    private static List<PostDTO> posts(int count) {
+        List<PostDTO> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) posts.add(PostDTO.builder().content("imported " + i).build());
+        return posts;
+    }
+}
@@ -0,0 +1,108 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.dto.FeedPage;
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PostServiceQueryCountTests {
+
+    private static final int AUTHORS = 5;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> authors = new ArrayList<>();
+    private final List<Long> postIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = userRepository.save(User.builder()
+                    .email("author" + i + "@example.com")
+                    .password("{noop}secret1")
+                    .firstName("Author")
+                    .lastName("No" + i)
+                    .build());
+            authors.add(author);
+            for (int j = 0; j < 3; j++) {
+                postIds.add(postRepository.save(Post.builder().content("post " + j).user(author).build()).getId());
+            }
+        }
+        SqlStatementRecorder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void postsFromManyAuthorsLoadInOneQuery() {
+        List<PostDTO> posts = postService.getPostDTOs(postIds);
+
+        assertThat(SqlStatementRecorder.statements()).hasSize(1);
+        assertThat(posts).extracting(PostDTO::getId).containsExactlyElementsOf(postIds);
+        assertThat(posts).extracting(PostDTO::getAuthorName).contains("Author No0", "Author No4");
+    }
+
+    @Test
+    void feedPageLoadsInOneQuery() {
+        FeedPage page = postService.getFeedPage(authors.get(0), null);
+
+        assertThat(SqlStatementRecorder.statements()).hasSize(1);
+        assertThat(page.getPosts()).hasSize(3).allMatch(post -> post.getAuthorName().equals("Author No0"));
+    }
+
+    @Test
+    void entityListsBatchLoadTheirAuthors() {
+        List<PostDTO> posts = transactionTemplate.execute(status ->
+                postService.convertToDTOs(postRepository.findAllById(postIds)));
+
+        // One query for the posts, one batched query for all of their authors
+        assertThat(SqlStatementRecorder.statements()).hasSize(2);
+        assertThat(posts).hasSize(postIds.size());
+    }
+
+    @Test
+    void bulkCreateSendsInsertsInJdbcBatches() {
+        List<PostDTO> posts = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            posts.add(PostDTO.builder().content("imported " + i).build());
+        }
+
+        List<Long> ids = postService.createPosts(posts, authors.get(0));
+
+        // A single prepared INSERT, executed in JDBC batches; identity ids needed one per row
+        assertThat(SqlStatementRecorder.statements()).filteredOn(sql -> sql.startsWith("insert into posts")).hasSize(1);
+        assertThat(ids).hasSize(120).doesNotHaveDuplicates();
+        assertThat(postRepository.countByUser(authors.get(0))).isEqualTo(123);
+    }
+}
@@ -0,0 +1,90 @@
+package com.group.a.social_media_app.service;
+
+import com.group.a.social_media_app.dto.UserRegistrationDTO;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.exception.UserAlreadyExistsException;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRegistrationTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @AfterEach
+    void tearDown() {
+        userStatsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void newEmailsSkipTheExistenceQuery() {
+        SqlStatementRecorder.clear();
+
+        userService.registerUser(registration("new@example.com"));
+
+        assertThat(SqlStatementRecorder.countSelectsFrom("users")).isZero();
+        assertThat(userRepository.existsByEmail("new@example.com")).isTrue();
+    }
+
+    @Test
+    void emailsRegisteredHereAreRejectedUpFront() {
+        userService.registerUser(registration("twice@example.com"));
+
+        assertThatThrownBy(() -> userService.registerUser(registration("twice@example.com")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+    }
+
+    @Test
+    void emailsTheFilterHasNotSeenAreRejectedByTheUniqueConstraint() {
+        // Inserted behind the filter's back, as another node or a concurrent request would
+        userRepository.save(User.builder()
+                .email("elsewhere@example.com")
+                .password("{noop}secret1")
+                .firstName("Other")
+                .lastName("Node")
+                .build());
+
+        assertThatThrownBy(() -> userService.registerUser(registration("elsewhere@example.com")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotReportedAsDuplicateEmails() {
+        UserRegistrationDTO registration = registration("long-name@example.com");
+        registration.setFirstName("x".repeat(300));
+
+        assertThatThrownBy(() -> userService.registerUser(registration))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(userRepository.count()).isZero();
+    }
+
+    private static UserRegistrationDTO registration(String email) {
+        return UserRegistrationDTO.builder()
+                .email(email)
+                .password("secret1")
+                .confirmPassword("secret1")
+                .firstName("New")
+                .lastName("User")
+                .build();
+    }
+}
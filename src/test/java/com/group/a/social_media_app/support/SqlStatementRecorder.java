@@ -0,0 +1,36 @@
+package com.group.a.social_media_app.support;
+
+import com.group.a.social_media_app.config.QueryCountingStatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, so tests can assert on query counts.
+ * Extends the production inspector so per-request query metrics keep working in tests.
+ */
+public class SqlStatementRecorder extends QueryCountingStatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+        return super.inspect(sql);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static long countSelectsFrom(String table) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .count();
+    }
+}
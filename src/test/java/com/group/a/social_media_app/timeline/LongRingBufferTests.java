@@ -0,0 +1,51 @@
+package com.group.a.social_media_app.timeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongRingBufferTests {
+
+    @Test
+    void readsNewestFirstBelowTheCursor() {
+        LongRingBuffer buffer = new LongRingBuffer(8);
+        for (long id = 1; id <= 6; id++) buffer.push(id);
+
+        assertThat(read(buffer, Long.MAX_VALUE, 4)).containsExactly(6, 5, 4, 3);
+        assertThat(read(buffer, 3, 4)).containsExactly(2, 1);
+        assertThat(read(buffer, 1, 4)).isEmpty();
+    }
+
+    @Test
+    void lateIdsAreShiftedIntoPlaceAndDuplicatesIgnored() {
+        LongRingBuffer buffer = new LongRingBuffer(8);
+        buffer.push(10);
+        buffer.push(30);
+        buffer.push(20);
+        buffer.push(30);
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(read(buffer, Long.MAX_VALUE, 8)).containsExactly(30, 20, 10);
+    }
+
+    @Test
+    void aFullBufferDropsItsOldestIdsAcrossTheWrap() {
+        LongRingBuffer buffer = new LongRingBuffer(3);
+        for (long id = 1; id <= 5; id++) buffer.push(id);
+        // Older than everything kept, so there is nowhere to put it
+        buffer.push(2);
+        buffer.push(7);
+        // Late but within range: shifted into place, displacing the oldest
+        buffer.push(6);
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(read(buffer, Long.MAX_VALUE, 8)).containsExactly(7, 6, 5);
+    }
+
+    private static long[] read(LongRingBuffer buffer, long beforeId, int limit) {
+        long[] out = new long[limit];
+        return Arrays.copyOf(out, buffer.readBefore(beforeId, out, limit));
+    }
+}
@@ -0,0 +1,162 @@
+package com.group.a.social_media_app.timeline;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.event.OutboxDispatcher;
+import com.group.a.social_media_app.repository.FollowRepository;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.service.FollowService;
+import com.group.a.social_media_app.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two followers make a celebrity, and a rebuild looks at the latest post only
+@SpringBootTest(properties = {
+        "app.timeline.celebrity-follower-threshold=2",
+        "app.timeline.rebuild-post-limit=1"
+})
+@ActiveProfiles("test")
+class TimelineTests {
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private TimelineStore store;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User reader;
+    private User friend;
+    private User star;
+
+    @BeforeEach
+    void setUp() {
+        reader = account("reader@example.com");
+        friend = account("friend@example.com");
+        star = account("star@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (User user : userRepository.findAll()) store.remove(user.getId());
+        followRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void newPostsAreFannedOutToFollowersWithATimeline() {
+        followService.follow(reader.getId(), friend.getId());
+        timelineService.readIds(reader.getId(), null, 10);
+
+        Long postId = post(friend);
+
+        assertThat(buffered(reader)).containsExactly(postId);
+        assertThat(timelineService.readIds(reader.getId(), null, 10)).containsExactly(postId);
+    }
+
+    @Test
+    void celebrityPostsArePulledAndMergedAtReadTime() {
+        followService.follow(reader.getId(), friend.getId());
+        followService.follow(reader.getId(), star.getId());
+        followService.follow(friend.getId(), star.getId());
+        timelineService.readIds(reader.getId(), null, 10);
+
+        Long first = post(friend);
+        Long second = post(star);
+        Long third = post(friend);
+        Long fourth = post(star);
+
+        assertThat(buffered(reader)).containsExactly(third, first);
+        assertThat(timelineService.readIds(reader.getId(), null, 10)).containsExactly(fourth, third, second, first);
+        assertThat(timelineService.readIds(reader.getId(), third, 10)).containsExactly(second, first);
+    }
+
+    @Test
+    void rebuiltTimelinesHoldEveryFolloweeNotJustRecentAuthors() {
+        followService.follow(reader.getId(), friend.getId());
+        followService.follow(reader.getId(), star.getId());
+        Long older = post(friend);
+        Long latest = post(star);
+        store.remove(reader.getId());
+
+        timelineService.rebuild();
+
+        assertThat(buffered(reader)).containsExactly(latest, older);
+    }
+
+    @Test
+    void aRolledBackFollowLeavesTheTimelineAsItWas() {
+        Long friendsPost = post(friend);
+        timelineService.readIds(reader.getId(), null, 10);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            followService.follow(reader.getId(), friend.getId());
+            status.setRollbackOnly();
+        });
+        assertThat(buffered(reader)).isEmpty();
+
+        followService.follow(reader.getId(), friend.getId());
+        assertThat(buffered(reader)).containsExactly(friendsPost);
+    }
+
+    private Long post(User author) {
+        Long id = postService.createPost(PostDTO.builder().content("Hello from " + author.getFirstName()).build(), author).getId();
+        outboxDispatcher.drain();
+        return id;
+    }
+
+    // What the reader's materialized timeline holds, without the celebrity merge
+    private List<Long> buffered(User user) {
+        LongRingBuffer timeline = store.get(user.getId());
+        assertThat(timeline).isNotNull();
+        long[] out = new long[10];
+        return Arrays.stream(Arrays.copyOf(out, timeline.readBefore(Long.MAX_VALUE, out, 10))).boxed().toList();
+    }
+
+    private User account(String email) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("{noop}secret1")
+                .firstName(email.substring(0, email.indexOf('@')))
+                .lastName("Tester")
+                .build());
+    }
+}
@@ -0,0 +1,60 @@
+package com.group.a.social_media_app.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingTopKTests {
+
+    private static final long MINUTE = 60_000;
+
+    @Test
+    void findsTheHeavyHittersAmongManyDistinctTags() {
+        // A deliberately small sketch and heap against 20,000 one-off tags
+        SlidingTopK topK = new SlidingTopK(Duration.ofHours(1), 12, 512, 4, 20);
+        long now = 100 * 60 * MINUTE;
+        for (int i = 0; i < 20_000; i++) {
+            topK.add("noise" + i, now, now);
+            if (i % 40 == 0) topK.add("java", now, now);
+            if (i % 100 == 0) topK.add("spring", now, now);
+            if (i % 200 == 0) topK.add("postgres", now, now);
+        }
+
+        List<TrendingTag> top = topK.top(3, now);
+
+        assertThat(top).extracting(TrendingTag::tag).containsExactly("java", "spring", "postgres");
+        // Count-min estimates never undercount
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(500);
+        assertThat(top.get(1).count()).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    void oldBucketsSlideOutOfTheWindow() {
+        SlidingTopK topK = new SlidingTopK(Duration.ofHours(1), 12, 256, 4, 10);
+        long start = 100 * 60 * MINUTE;
+        topK.add("morning", start, start);
+        topK.add("morning", start, start);
+        topK.add("noon", start + 30 * MINUTE, start + 30 * MINUTE);
+
+        assertThat(topK.top(10, start + 30 * MINUTE))
+                .containsExactly(new TrendingTag("morning", 2), new TrendingTag("noon", 1));
+        assertThat(topK.top(10, start + 70 * MINUTE)).containsExactly(new TrendingTag("noon", 1));
+        assertThat(topK.top(10, start + 120 * MINUTE)).isEmpty();
+
+        // Too old to count by the time it arrives
+        topK.add("late", start, start + 120 * MINUTE);
+        assertThat(topK.top(10, start + 120 * MINUTE)).isEmpty();
+    }
+
+    @Test
+    void hashtagsAreWordStartsWithALetter() {
+        assertThat(Hashtags.extract("Loving #Java and #java_21, not #42 or a#b or example.com/#top. #Café!"))
+                .containsExactly("java", "java_21", "café");
+        assertThat(Hashtags.extract("#a #b #c #d #e #f #g #h #i #j #k #l")).hasSize(Hashtags.MAX_PER_POST);
+        assertThat(Hashtags.extract("#" + "x".repeat(Hashtags.MAX_LENGTH + 1))).isEmpty();
+        assertThat(Hashtags.extract(null)).isEmpty();
+    }
+}
@@ -0,0 +1,140 @@
+package com.group.a.social_media_app.trending;
+
+import com.group.a.social_media_app.dto.PostDTO;
+import com.group.a.social_media_app.entity.Post;
+import com.group.a.social_media_app.entity.User;
+import com.group.a.social_media_app.entity.UserStats;
+import com.group.a.social_media_app.event.OutboxDispatcher;
+import com.group.a.social_media_app.event.PostEvent;
+import com.group.a.social_media_app.repository.OutboxEventRepository;
+import com.group.a.social_media_app.repository.PostRepository;
+import com.group.a.social_media_app.repository.UserRepository;
+import com.group.a.social_media_app.repository.UserStatsRepository;
+import com.group.a.social_media_app.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.group.a.social_media_app.service.PostService;
+import com.group.a.social_media_app.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TrendingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private TrendingEventConsumer trendingEventConsumer;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .email("trends@example.com")
+                .password("{noop}secret1")
+                .firstName("Trend")
+                .lastName("Setter")
+                .build());
+        userStatsRepository.save(UserStats.builder().userId(author.getId()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        postRepository.deleteAll();
+        userStatsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createdAndEditedPostsFeedTheRankingOnce() {
+        Post first = postService.createPost(post("Release day #zebrafish #Quokka"), author);
+        postService.createPost(post("Still talking about #quokka"), author);
+        outboxDispatcher.drain();
+
+        assertThat(count("quokka")).isEqualTo(2);
+        assertThat(count("zebrafish")).isEqualTo(1);
+
+        // Only the tag the edit added counts, and a redelivered event counts nothing
+        postService.updatePost(postRepository.findById(first.getId()).orElseThrow(), "Release day #zebrafish #quokka #narwhal");
+        outboxDispatcher.drain();
+        trendingEventConsumer.onPostEvents(List.of(new PostEvent.PostCreated(first.getId(), author.getId())));
+
+        assertThat(count("quokka")).isEqualTo(2);
+        assertThat(count("zebrafish")).isEqualTo(1);
+        assertThat(count("narwhal")).isEqualTo(1);
+    }
+
+    @Test
+    void trendingIsServedFromMemory() throws Exception {
+        postService.createPost(post("#axolotl"), author);
+        outboxDispatcher.drain();
+        SqlStatementRecorder.clear();
+
+        mockMvc.perform(get("/trending").param("window", "day").accept(MediaType.APPLICATION_JSON)
+                        .with(user(new CustomUserPrincipal(author))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("day"))
+                .andExpect(jsonPath("$.tags[?(@.tag == 'axolotl')].count").value(1));
+        mockMvc.perform(get("/trending").accept(MediaType.TEXT_HTML).with(user(new CustomUserPrincipal(author))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("#axolotl")));
+        mockMvc.perform(get("/trending").param("window", "week").accept(MediaType.APPLICATION_JSON)
+                        .with(user(new CustomUserPrincipal(author))))
+                .andExpect(status().isBadRequest());
+
+        assertThat(SqlStatementRecorder.countSelectsFrom("posts")).isZero();
+    }
+
+    private long count(String tag) {
+        return trendingService.trending(TrendingWindow.HOUR).stream()
+                .filter(trend -> trend.tag().equals(tag))
+                .mapToLong(TrendingTag::count)
+                .findFirst()
+                .orElse(0);
+    }
+
+    private static PostDTO post(String content) {
+        return PostDTO.builder().content(content).build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.group.a.social_media_app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelativeTimeTests {
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private final RelativeTime relativeTime = RelativeTime.at(now);
+
+    @Test
+    void formatsEachBucketAgainstTheSnapshot() {
+        assertThat(relativeTime.format(now.minusSeconds(59))).isEqualTo("Just now");
+        assertThat(relativeTime.format(now.plusMinutes(3))).isEqualTo("Just now");
+        assertThat(relativeTime.format(now.minusMinutes(59))).isEqualTo("59 minute(s) ago");
+        assertThat(relativeTime.format(now.minusHours(23).minusMinutes(59))).isEqualTo("23 hour(s) ago");
+        assertThat(relativeTime.format(now.minusDays(3))).isEqualTo("3 day(s) ago");
+        assertThat(relativeTime.format(now.minusDays(400))).isEqualTo("400 day(s) ago");
+        assertThat(relativeTime.format(null)).isEmpty();
+    }
+}